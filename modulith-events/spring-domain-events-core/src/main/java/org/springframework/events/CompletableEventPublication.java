@@ -18,6 +18,8 @@ package org.springframework.events;
 import java.time.Instant;
 import java.util.Optional;
 
+import org.springframework.util.Assert;
+
 /**
  * An event publication that can be completed.
  *
@@ -56,6 +58,23 @@ public interface CompletableEventPublication extends EventPublication {
 	 * @return
 	 */
 	static CompletableEventPublication of(Object event, PublicationTargetIdentifier id) {
-		return DefaultEventPublication.of(event, id);
+		return of(event, id, PublicationIdentifierGenerator.timeOrdered());
+	}
+
+	/**
+	 * Creates a {@link CompletableEventPublication} for the given event an listener identifier using the given
+	 * {@link PublicationIdentifierGenerator} to create the publication's identifier.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param id must not be {@literal null}.
+	 * @param generator must not be {@literal null}.
+	 * @return
+	 */
+	static CompletableEventPublication of(Object event, PublicationTargetIdentifier id,
+			PublicationIdentifierGenerator generator) {
+
+		Assert.notNull(generator, "PublicationIdentifierGenerator must not be null!");
+
+		return DefaultEventPublication.of(event, id, generator.generate());
 	}
 }
@@ -23,6 +23,7 @@ import lombok.ToString;
 
 import java.time.Instant;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Default {@link CompletableEventPublication} implementation.
@@ -37,6 +38,7 @@ class DefaultEventPublication implements CompletableEventPublication {
 
 	private final @NonNull Object event;
 	private final @NonNull PublicationTargetIdentifier targetIdentifier;
+	private final @NonNull UUID identifier;
 	private final Instant publicationDate = Instant.now();
 
 	private Optional<Instant> completionDate = Optional.empty();
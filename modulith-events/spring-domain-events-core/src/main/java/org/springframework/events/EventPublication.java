@@ -16,6 +16,8 @@
 package org.springframework.events;
 
 import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
 
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.PayloadApplicationEvent;
@@ -29,6 +31,13 @@ import org.springframework.util.Assert;
  */
 public interface EventPublication extends Comparable<EventPublication> {
 
+	/**
+	 * Returns the unique identifier of the publication.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	UUID getIdentifier();
+
 	/**
 	 * Returns the event that is published.
 	 *
@@ -58,6 +67,46 @@ public interface EventPublication extends Comparable<EventPublication> {
 	 */
 	Instant getPublicationDate();
 
+	/**
+	 * Returns the number of times the publication has been republished so far. Defaults to zero for implementations not
+	 * tracking republication attempts.
+	 *
+	 * @return
+	 * @see EventPublicationRegistry#registerAttempt(UUID, Instant)
+	 */
+	default int getAttemptCount() {
+		return 0;
+	}
+
+	/**
+	 * Returns the number of times invoking the target listener has failed so far. Defaults to zero for implementations
+	 * not tracking failures.
+	 *
+	 * @return
+	 * @see EventPublicationRegistry#registerFailure(UUID, String, int)
+	 */
+	default int getFailureCount() {
+		return 0;
+	}
+
+	/**
+	 * Returns the time invoking the target listener has failed at the last time.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	default Optional<Instant> getLastFailureDate() {
+		return Optional.empty();
+	}
+
+	/**
+	 * Returns the description of the last failure invoking the target listener, potentially truncated.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	default Optional<String> getLastFailure() {
+		return Optional.empty();
+	}
+
 	/**
 	 * Returns the identifier of the target that the event is supposed to be published to.
 	 *
@@ -84,6 +133,9 @@ public interface EventPublication extends Comparable<EventPublication> {
 	 */
 	@Override
 	public default int compareTo(EventPublication that) {
-		return this.getPublicationDate().compareTo(that.getPublicationDate());
+
+		int result = this.getPublicationDate().compareTo(that.getPublicationDate());
+
+		return result != 0 ? result : this.getIdentifier().compareTo(that.getIdentifier());
 	}
 }
@@ -15,9 +15,17 @@
  */
 package org.springframework.events;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.springframework.context.ApplicationListener;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -33,8 +41,37 @@ public interface EventPublicationRegistry {
 	 *
 	 * @param event must not be {@literal null}.
 	 * @param listeners must not be {@literal null}.
+	 * @return the {@link EventPublication}s stored, will never be {@literal null}.
 	 */
-	void store(Object event, Collection<ApplicationListener<?>> listeners);
+	Collection<EventPublication> store(Object event, Collection<ApplicationListener<?>> listeners);
+
+	/**
+	 * Stores the given, already created {@link EventPublication}, keeping its identifier. Implementations not supporting
+	 * this throw an {@link UnsupportedOperationException}.
+	 *
+	 * @param publication must not be {@literal null}.
+	 * @see CompletableEventPublication#of(Object, PublicationTargetIdentifier, PublicationIdentifierGenerator)
+	 */
+	default void store(EventPublication publication) {
+		throw new UnsupportedOperationException(
+				String.format("%s does not support storing created publications!", getClass().getName()));
+	}
+
+	/**
+	 * Stores the given, already created {@link EventPublication}s, potentially for multiple events, keeping their
+	 * identifiers. Allows to create publications upfront and store them in a single batch later on. Stores them one by
+	 * one via {@link #store(EventPublication)} by default. Implementations are encouraged to override this with a single
+	 * batch insert.
+	 *
+	 * @param publications must not be {@literal null}.
+	 * @see CompletableEventPublication#of(Object, PublicationTargetIdentifier, PublicationIdentifierGenerator)
+	 */
+	default void storeAll(Collection<EventPublication> publications) {
+
+		Assert.notNull(publications, "Publications must not be null!");
+
+		publications.forEach(this::store);
+	}
 
 	/**
 	 * Marks the publication for the given event and {@link PublicationTargetIdentifier} as completed.
@@ -44,6 +81,29 @@ public interface EventPublicationRegistry {
 	 */
 	void markCompleted(Object event, PublicationTargetIdentifier listener);
 
+	/**
+	 * Marks the publication with the given identifier as completed. Prefer this over
+	 * {@link #markCompleted(Object, PublicationTargetIdentifier)} whenever the identifier is known as it doesn't require
+	 * looking up the publication via the event.
+	 *
+	 * @param identifier must not be {@literal null}.
+	 * @see EventPublication#getIdentifier()
+	 */
+	void markCompleted(UUID identifier);
+
+	/**
+	 * Marks the publications with the given identifiers as completed. Implementations are encouraged to override this
+	 * with a single bulk update.
+	 *
+	 * @param identifiers must not be {@literal null}.
+	 */
+	default void markCompleted(Collection<UUID> identifiers) {
+
+		Assert.notNull(identifiers, "Identifiers must not be null!");
+
+		identifiers.forEach(this::markCompleted);
+	}
+
 	/**
 	 * Marks the given {@link EventPublication} as completed.
 	 *
@@ -53,13 +113,170 @@ public interface EventPublicationRegistry {
 
 		Assert.notNull(publication, "Publication must not be null!");
 
-		markCompleted(publication.getEvent(), publication.getTargetIdentifier());
+		markCompleted(publication.getIdentifier());
 	}
 
 	/**
-	 * Returns all {@link EventPublication}s that have not been completed yet.
+	 * Claims up to the given number of incomplete {@link EventPublication}s for the given owner, ordered by publication
+	 * date and identifier. Publications claimed by any owner are skipped until the lease of the claim has expired, so that
+	 * multiple application instances invoking this concurrently obtain disjoint sets of publications and repeated
+	 * invocations by the same owner progress through the incomplete publications. Implementations not supporting claims
+	 * get the first chunk of incomplete publications via {@link #findIncompletePublications(EventPublication, int)}
+	 * returned by default, i.e. concurrent invocations are not partitioned.
+	 *
+	 * @param owner must not be {@literal null} or empty.
+	 * @param lease the time the publications stay claimed for, must not be {@literal null}.
+	 * @param limit the maximum number of publications to claim, must be greater than zero.
+	 * @return will never be {@literal null}.
+	 */
+	default List<EventPublication> claimIncompletePublications(String owner, Duration lease, int limit) {
+		return findIncompletePublications(null, limit);
+	}
+
+	/**
+	 * Returns up to the given number of incomplete {@link EventPublication}s whose next republication attempt is due at
+	 * the given {@link Instant}, ordered by the time they became due. New publications are due at their publication date,
+	 * publications republished before at the time registered via {@link #registerAttempt(UUID, Instant)}.
+	 *
+	 * @param dueAt must not be {@literal null}.
+	 * @param limit the maximum number of publications to return, must be greater than zero.
+	 * @return will never be {@literal null}.
+	 * @see #findDuePublications(Instant, Duration, int)
+	 */
+	default List<EventPublication> findDuePublications(Instant dueAt, int limit) {
+		return findDuePublications(dueAt, Duration.ZERO, limit);
+	}
+
+	/**
+	 * Returns up to the given number of incomplete {@link EventPublication}s whose next republication attempt is due at
+	 * the given {@link Instant}, ordered by the time they became due. Publications that haven't been attempted to be
+	 * republished yet are only considered due once the given threshold has passed since their publication, the ones
+	 * republished before at the time registered via {@link #registerAttempt(UUID, Instant)}. Implementations are
+	 * encouraged to override the default, which loads all incomplete publications and only considers their publication
+	 * date, with an indexed query.
+	 *
+	 * @param dueAt must not be {@literal null}.
+	 * @param threshold the minimum age of publications not attempted yet, must not be {@literal null} or negative.
+	 * @param limit the maximum number of publications to return, must be greater than zero.
+	 * @return will never be {@literal null}.
+	 */
+	default List<EventPublication> findDuePublications(Instant dueAt, Duration threshold, int limit) {
+
+		Assert.notNull(dueAt, "Due date must not be null!");
+		Assert.notNull(threshold, "Threshold must not be null!");
+		Assert.isTrue(!threshold.isNegative(), "Threshold must not be negative!");
+		Assert.isTrue(limit > 0, "Limit must be greater than zero!");
+
+		Instant publishedBefore = dueAt.minus(threshold);
+
+		return StreamSupport.stream(findIncompletePublications().spliterator(), false) //
+				.filter(it -> !it.getPublicationDate().isAfter(publishedBefore)) //
+				.sorted() //
+				.limit(limit) //
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Registers an attempt to republish the publication with the given identifier, i.e. increments its attempt count and
+	 * defers its next republication to the given {@link Instant}. A no-op by default, for implementations not tracking
+	 * republication attempts.
+	 *
+	 * @param identifier must not be {@literal null}.
+	 * @param nextAttempt must not be {@literal null}.
+	 * @see EventPublication#getAttemptCount()
+	 */
+	default void registerAttempt(UUID identifier, Instant nextAttempt) {}
+
+	/**
+	 * Registers a failed invocation of the listener of the publication with the given identifier, i.e. increments its
+	 * failure count and records the time and description of the failure. Once the failure count reaches the given
+	 * threshold, the publication is quarantined, i.e. excluded from republication until it's requeued via
+	 * {@link #requeueQuarantinedPublications(Collection)}. A no-op by default, for implementations not tracking failures.
+	 *
+	 * @param identifier must not be {@literal null}.
+	 * @param failure the description of the failure, must not be {@literal null}. Truncated by implementations as needed.
+	 * @param quarantineThreshold the number of failures to quarantine the publication after, zero to never quarantine it.
+	 * @return whether the publication has been quarantined by registering the failure.
+	 * @see EventPublication#getFailureCount()
+	 */
+	default boolean registerFailure(UUID identifier, String failure, int quarantineThreshold) {
+		return false;
+	}
+
+	/**
+	 * Returns up to the given number of quarantined {@link EventPublication}s, ordered by publication date and
+	 * identifier.
+	 *
+	 * @param limit the maximum number of publications to return, must be greater than zero.
+	 * @return will never be {@literal null}.
+	 * @see #registerFailure(UUID, String, int)
+	 */
+	default List<EventPublication> findQuarantinedPublications(int limit) {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Requeues the quarantined publications with the given identifiers for republication, resetting their failure and
+	 * attempt counts and making them due right away.
+	 *
+	 * @param identifiers must not be {@literal null}.
+	 * @return the number of publications requeued.
+	 */
+	default int requeueQuarantinedPublications(Collection<UUID> identifiers) {
+		return 0;
+	}
+
+	/**
+	 * Requeues all quarantined publications for republication, resetting their failure and attempt counts and making
+	 * them due right away.
+	 *
+	 * @return the number of publications requeued.
+	 */
+	default int requeueQuarantinedPublications() {
+		return 0;
+	}
+
+	/**
+	 * Deletes up to the given number of publications that have been completed before the given {@link Instant},
+	 * optionally copying them into an archive first. Supposed to be invoked repeatedly to purge a large number of
+	 * publications in bounded batches. A no-op deleting nothing by default, for implementations not keeping completed
+	 * publications around, so that purging them stops right away.
+	 *
+	 * @param completedBefore must not be {@literal null}.
+	 * @param limit the maximum number of publications to delete, must be greater than zero.
+	 * @param archive whether to archive the publications before deleting them.
+	 * @return the number of publications deleted.
+	 */
+	default int deleteCompletedPublications(Instant completedBefore, int limit, boolean archive) {
+		return 0;
+	}
+
+	/**
+	 * Returns all {@link EventPublication}s that have not been completed yet and are not quarantined.
 	 *
 	 * @return will never be {@literal null}.
 	 */
 	Iterable<EventPublication> findIncompletePublications();
+
+	/**
+	 * Returns the next chunk of {@link EventPublication}s that have not been completed yet and are not quarantined,
+	 * ordered by publication date and identifier. Allows to page through a large number of incomplete publications
+	 * without loading all of them at once by handing the last publication of the previous chunk into the next
+	 * invocation. Implementations are encouraged to override the default, which still loads all incomplete
+	 * publications, with a keyset query.
+	 *
+	 * @param after the last publication of the previous chunk, {@literal null} to obtain the first chunk.
+	 * @param limit the maximum number of publications to return, must be greater than zero.
+	 * @return will never be {@literal null}.
+	 */
+	default List<EventPublication> findIncompletePublications(@Nullable EventPublication after, int limit) {
+
+		Assert.isTrue(limit > 0, "Limit must be greater than zero!");
+
+		return StreamSupport.stream(findIncompletePublications().spliterator(), false) //
+				.filter(it -> after == null || it.compareTo(after) > 0) //
+				.sorted() //
+				.limit(limit) //
+				.collect(Collectors.toList());
+	}
 }
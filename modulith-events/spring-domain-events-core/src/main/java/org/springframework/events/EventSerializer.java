@@ -21,7 +21,8 @@ package org.springframework.events;
 public interface EventSerializer {
 
 	/**
-	 * Serializes the given event into a storable format.
+	 * Serializes the given event into a storable format. Registries store byte arrays as binary data, all other formats
+	 * via their {@link Object#toString()} representation.
 	 *
 	 * @param event must not be {@literal null}.
 	 * @return
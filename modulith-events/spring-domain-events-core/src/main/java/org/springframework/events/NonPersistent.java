@@ -0,0 +1,38 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Opts out of storing {@link EventPublication}s for fire-and-forget listeners, e.g. ones invalidating caches or
+ * recording metrics. On a {@link TransactionalEventListener} method, no publications are stored for that listener.
+ * On an event type, no publications are stored for any listener of that type or of its subtypes. Such listeners are
+ * still invoked as usual but are neither completed nor republished.
+ *
+ * @author Oliver Drotbohm
+ * @see PublicationFilter
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE, ElementType.ANNOTATION_TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface NonPersistent {}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events;
+
+import org.springframework.context.ApplicationListener;
+
+/**
+ * SPI to programmatically decide which listeners require {@link EventPublication}s to be stored, in addition to the
+ * ones opted out via {@link NonPersistent}. Decisions are calculated once per listener and event type and cached
+ * afterwards, so implementations must not depend on the actual event instance or on state changing at runtime.
+ *
+ * @author Oliver Drotbohm
+ * @see NonPersistent
+ */
+@FunctionalInterface
+public interface PublicationFilter {
+
+	/**
+	 * Returns whether a publication has to be stored when the given listener is invoked for events of the given type.
+	 *
+	 * @param listener will never be {@literal null}.
+	 * @param eventType the type of the event, i.e. the payload type for events not implementing
+	 *          {@link org.springframework.context.ApplicationEvent}, will never be {@literal null}.
+	 * @return
+	 */
+	boolean requiresPublication(ApplicationListener<?> listener, Class<?> eventType);
+}
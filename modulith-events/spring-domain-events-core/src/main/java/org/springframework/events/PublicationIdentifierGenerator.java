@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events;
+
+import java.util.UUID;
+
+/**
+ * SPI to create the identifiers of {@link EventPublication}s. Implementations should create identifiers that are
+ * ordered by creation time, so that storing publications results in mostly appending to the primary key index.
+ *
+ * @author Oliver Drotbohm
+ * @see #timeOrdered()
+ */
+@FunctionalInterface
+public interface PublicationIdentifierGenerator {
+
+	/**
+	 * Creates a new, unique publication identifier.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	UUID generate();
+
+	/**
+	 * Returns the default {@link PublicationIdentifierGenerator} creating UUIDs of version 7, i.e. ones prefixed with
+	 * the current Unix timestamp in milliseconds, followed by a counter guaranteeing monotonically increasing
+	 * identifiers within a JVM and random bits.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	static PublicationIdentifierGenerator timeOrdered() {
+		return TimeOrderedPublicationIdentifierGenerator.INSTANCE;
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.util.Assert;
+
+/**
+ * An {@link EventSerializer} that writes events into and reads them from streams rather than materializing them as
+ * intermediate objects. Registries serialize events into pooled, reusable buffers for those and store the result as
+ * binary data or, for serializers writing UTF-8 encoded text, as {@link String}.
+ *
+ * @author Oliver Drotbohm
+ */
+public interface StreamingEventSerializer extends EventSerializer {
+
+	/**
+	 * Serializes the given event into the given {@link OutputStream}. Implementations must not close the stream.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param output must not be {@literal null}.
+	 * @throws IOException in case the event cannot be written.
+	 */
+	void serialize(Object event, OutputStream output) throws IOException;
+
+	/**
+	 * Returns whether the serializer writes binary data, stored as byte array, or UTF-8 encoded text, stored as
+	 * {@link String} in the textual column. Defaults to binary data.
+	 *
+	 * @return
+	 */
+	default boolean isBinary() {
+		return true;
+	}
+
+	/**
+	 * Deserializes the event read from the given {@link InputStream} into an instance of the given type.
+	 *
+	 * @param input must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @return
+	 * @throws IOException in case the event cannot be read.
+	 */
+	Object deserialize(InputStream input, Class<?> type) throws IOException;
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventSerializer#serialize(java.lang.Object)
+	 */
+	@Override
+	default Object serialize(Object event) {
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		try {
+			serialize(event, output);
+		} catch (IOException o_O) {
+			throw new UncheckedIOException(o_O);
+		}
+
+		return isBinary() ? output.toByteArray() : new String(output.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventSerializer#deserialize(java.lang.Object, java.lang.Class)
+	 */
+	@Override
+	default Object deserialize(Object serialized, Class<?> type) {
+
+		Assert.notNull(serialized, "Serialized event must not be null!");
+
+		byte[] bytes = serialized instanceof byte[] //
+				? (byte[]) serialized //
+				: serialized.toString().getBytes(StandardCharsets.UTF_8);
+
+		try {
+			return deserialize(new ByteArrayInputStream(bytes), type);
+		} catch (IOException o_O) {
+			throw new UncheckedIOException(o_O);
+		}
+	}
+}
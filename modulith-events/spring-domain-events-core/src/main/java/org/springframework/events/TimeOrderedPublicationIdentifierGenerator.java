@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link PublicationIdentifierGenerator} creating version 7 UUIDs. The 48 most significant bits contain the Unix
+ * timestamp in milliseconds, followed by the version, a 12 bit counter used to keep identifiers created within the
+ * same millisecond ordered, the variant and 62 random bits. In case the counter overflows, the timestamp is advanced
+ * by a millisecond. The random bits are taken from {@link ThreadLocalRandom} as they're not needed to be
+ * unpredictable.
+ *
+ * @author Oliver Drotbohm
+ */
+class TimeOrderedPublicationIdentifierGenerator implements PublicationIdentifierGenerator {
+
+	static final TimeOrderedPublicationIdentifierGenerator INSTANCE = new TimeOrderedPublicationIdentifierGenerator();
+
+	private static final long VERSION = 0x7L << 12;
+	private static final long MAX_SEQUENCE = 0xFFFL;
+	private static final long VARIANT = 0x8000_0000_0000_0000L;
+	private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+	private long lastTimestamp = -1, sequence = 0;
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.PublicationIdentifierGenerator#generate()
+	 */
+	@Override
+	public UUID generate() {
+
+		long mostSignificantBits = nextTimestampAndSequence();
+		long leastSignificantBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+
+		return new UUID(mostSignificantBits, leastSignificantBits);
+	}
+
+	private synchronized long nextTimestampAndSequence() {
+
+		long timestamp = System.currentTimeMillis();
+
+		if (timestamp > lastTimestamp) {
+
+			lastTimestamp = timestamp;
+			sequence = 0;
+
+		} else if (++sequence > MAX_SEQUENCE) {
+
+			lastTimestamp++;
+			sequence = 0;
+		}
+
+		return lastTimestamp << 16 | VERSION | sequence;
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.events.support.PersistentApplicationEventMulticaster;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Registers an {@link ExecutorService} for the {@link PersistentApplicationEventMulticaster} to invoke after-commit
+ * transactional event listeners on. Activated by setting {@value #ENABLED_PROPERTY} to {@literal true}. Uses a
+ * virtual thread per task on JDKs that support them and a fixed thread pool sized by {@value #POOL_SIZE_PROPERTY}
+ * otherwise. Declare a custom {@link java.util.concurrent.Executor} bean named {@value #EXECUTOR_BEAN_NAME} to use a
+ * different one.
+ *
+ * @author Oliver Drotbohm
+ */
+@Configuration(proxyBeanMethods = false)
+class AsyncDispatchConfiguration {
+
+	static final String ENABLED_PROPERTY = "events.dispatch.async";
+	static final String EXECUTOR_BEAN_NAME = "eventPublicationDispatchExecutor";
+
+	private static final String POOL_SIZE_PROPERTY = "events.dispatch.pool-size";
+	private static final Method VIRTUAL_THREAD_EXECUTOR_FACTORY = ReflectionUtils.findMethod(Executors.class,
+			"newVirtualThreadPerTaskExecutor");
+
+	@Bean(name = EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+	ExecutorService eventPublicationDispatchExecutor(Environment environment) {
+
+		if (VIRTUAL_THREAD_EXECUTOR_FACTORY != null) {
+			return (ExecutorService) ReflectionUtils.invokeMethod(VIRTUAL_THREAD_EXECUTOR_FACTORY, null);
+		}
+
+		int poolSize = environment.getProperty(POOL_SIZE_PROPERTY, Integer.class,
+				Runtime.getRuntime().availableProcessors());
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("event-publication-dispatch-");
+		threadFactory.setDaemon(true);
+
+		return Executors.newFixedThreadPool(poolSize, threadFactory);
+	}
+}
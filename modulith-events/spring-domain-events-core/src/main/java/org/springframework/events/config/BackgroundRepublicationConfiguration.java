@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.support.BackgroundRepublisher;
+import org.springframework.events.support.PersistentApplicationEventMulticaster;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Registers a {@link BackgroundRepublisher} to republish incomplete publications once the application is ready instead
+ * of during the context's initialization. Activated by setting {@value #ENABLED_PROPERTY} to {@literal true}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Configuration(proxyBeanMethods = false)
+@Import(SchedulingConfiguration.class)
+class BackgroundRepublicationConfiguration {
+
+	static final String ENABLED_PROPERTY = "events.republication.background";
+
+	private static final String PARALLELISM_PROPERTY = "events.republication.parallelism";
+	private static final String RATE_LIMIT_PROPERTY = "events.republication.rate-limit";
+	private static final String DELAY_PROPERTY = "events.republication.delay";
+
+	@Bean
+	BackgroundRepublisher backgroundRepublisher(ObjectFactory<EventPublicationRegistry> registry,
+			PersistentApplicationEventMulticaster multicaster,
+			@Qualifier(SchedulingConfiguration.SCHEDULER_BEAN_NAME) TaskScheduler scheduler, Environment environment) {
+
+		int parallelism = environment.getProperty(PARALLELISM_PROPERTY, Integer.class, 4);
+		int rateLimit = environment.getProperty(RATE_LIMIT_PROPERTY, Integer.class, 0);
+		Duration delay = Duration.parse(environment.getProperty(DELAY_PROPERTY, "PT0S"));
+
+		return new BackgroundRepublisher(() -> registry.getObject(), multicaster, scheduler, parallelism, rateLimit,
+				delay);
+	}
+}
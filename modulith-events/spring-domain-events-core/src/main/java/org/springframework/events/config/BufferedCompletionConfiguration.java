@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.config;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.support.BufferingEventPublicationRegistry;
+import org.springframework.events.support.MapEventPublicationRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Registers a {@link BufferingEventPublicationRegistry} as primary {@link EventPublicationRegistry} decorating the
+ * actual one so that completions are written in batches asynchronously. Activated by setting
+ * {@value #ENABLED_PROPERTY} to {@literal true}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Configuration(proxyBeanMethods = false)
+@Import(SchedulingConfiguration.class)
+class BufferedCompletionConfiguration {
+
+	static final String ENABLED_PROPERTY = "events.completion.buffered";
+
+	private static final String BATCH_SIZE_PROPERTY = "events.completion.batch-size";
+	private static final String CAPACITY_PROPERTY = "events.completion.capacity";
+	private static final String FLUSH_INTERVAL_PROPERTY = "events.completion.flush-interval-millis";
+
+	@Bean
+	@Primary
+	BufferingEventPublicationRegistry bufferingEventPublicationRegistry(ObjectProvider<EventPublicationRegistry> registries,
+			@Qualifier(SchedulingConfiguration.SCHEDULER_BEAN_NAME) TaskScheduler scheduler, Environment environment) {
+
+		int batchSize = environment.getProperty(BATCH_SIZE_PROPERTY, Integer.class, 100);
+		int capacity = environment.getProperty(CAPACITY_PROPERTY, Integer.class, 10_000);
+		long flushInterval = environment.getProperty(FLUSH_INTERVAL_PROPERTY, Long.class, 500L);
+
+		// Looked up lazily as the buffering registry is a candidate itself
+		Supplier<EventPublicationRegistry> delegate = SingletonSupplier.of(() -> registries.orderedStream() //
+				.filter(it -> !(it instanceof BufferingEventPublicationRegistry)) //
+				.findFirst() //
+				.orElseGet(() -> new MapEventPublicationRegistry()));
+
+		return new BufferingEventPublicationRegistry(delegate, scheduler, batchSize, capacity,
+				Duration.ofMillis(flushInterval));
+	}
+}
@@ -28,9 +28,11 @@ import java.lang.annotation.Target;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.context.EnvironmentAware;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.ImportSelector;
+import org.springframework.core.env.Environment;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.events.config.EnablePersistentDomainEvents.PersistentDomainEventsImportSelector;
@@ -46,9 +48,10 @@ import org.springframework.events.config.EnablePersistentDomainEvents.Persistent
 public @interface EnablePersistentDomainEvents {
 
 	@RequiredArgsConstructor
-	static class PersistentDomainEventsImportSelector implements ImportSelector, ResourceLoaderAware {
+	static class PersistentDomainEventsImportSelector implements ImportSelector, ResourceLoaderAware, EnvironmentAware {
 
 		private ResourceLoader resourceLoader;
+		private Environment environment;
 
 		/* 
 		 * (non-Javadoc)
@@ -59,6 +62,15 @@ public @interface EnablePersistentDomainEvents {
 			this.resourceLoader = resourceLoader;
 		}
 
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.context.EnvironmentAware#setEnvironment(org.springframework.core.env.Environment)
+		 */
+		@Override
+		public void setEnvironment(Environment environment) {
+			this.environment = environment;
+		}
+
 		/* 
 		 * (non-Javadoc)
 		 * @see org.springframework.context.annotation.ImportSelector#selectImports(org.springframework.core.type.AnnotationMetadata)
@@ -72,6 +84,26 @@ public @interface EnablePersistentDomainEvents {
 			result.addAll(loadFactoryNames(EventPublicationConfigurationExtension.class, resourceLoader.getClassLoader()));
 			result.addAll(loadFactoryNames(EventSerializationConfigurationExtension.class, resourceLoader.getClassLoader()));
 
+			if (environment.getProperty(BufferedCompletionConfiguration.ENABLED_PROPERTY, Boolean.class, false)) {
+				result.add(BufferedCompletionConfiguration.class.getName());
+			}
+
+			if (environment.getProperty(RetentionConfiguration.ENABLED_PROPERTY, Boolean.class, false)) {
+				result.add(RetentionConfiguration.class.getName());
+			}
+
+			if (environment.getProperty(AsyncDispatchConfiguration.ENABLED_PROPERTY, Boolean.class, false)) {
+				result.add(AsyncDispatchConfiguration.class.getName());
+			}
+
+			if (environment.getProperty(BackgroundRepublicationConfiguration.ENABLED_PROPERTY, Boolean.class, false)) {
+				result.add(BackgroundRepublicationConfiguration.class.getName());
+			}
+
+			if (environment.getProperty(ScheduledRepublicationConfiguration.ENABLED_PROPERTY, Boolean.class, false)) {
+				result.add(ScheduledRepublicationConfiguration.class.getName());
+			}
+
 			return result.toArray(new String[result.size()]);
 		}
 	}
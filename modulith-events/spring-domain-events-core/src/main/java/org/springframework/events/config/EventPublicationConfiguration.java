@@ -15,11 +15,20 @@
  */
 package org.springframework.events.config;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.PublicationFilter;
+import org.springframework.events.PublicationIdentifierGenerator;
 import org.springframework.events.support.CompletionRegisteringBeanPostProcessor;
 import org.springframework.events.support.MapEventPublicationRegistry;
 import org.springframework.events.support.PersistentApplicationEventMulticaster;
@@ -30,15 +39,43 @@ import org.springframework.events.support.PersistentApplicationEventMulticaster;
 @Configuration(proxyBeanMethods = false)
 class EventPublicationConfiguration {
 
+	private static final String BUFFER_PUBLICATIONS_PROPERTY = "events.publication.buffered";
+	private static final String CLAIMS_PROPERTY = "events.republication.claims";
+	private static final String CLAIM_OWNER_PROPERTY = "events.republication.owner";
+	private static final String CLAIM_LEASE_PROPERTY = "events.republication.lease";
+	private static final String QUARANTINE_THRESHOLD_PROPERTY = "events.republication.quarantine-threshold";
+
 	@Bean
-	PersistentApplicationEventMulticaster applicationEventMulticaster(ObjectProvider<EventPublicationRegistry> registry) {
+	PersistentApplicationEventMulticaster applicationEventMulticaster(ObjectProvider<EventPublicationRegistry> registry,
+			@Qualifier(AsyncDispatchConfiguration.EXECUTOR_BEAN_NAME) ObjectProvider<Executor> executor,
+			ObjectProvider<PublicationIdentifierGenerator> identifierGenerator, ObjectProvider<PublicationFilter> filters,
+			Environment environment) {
 
-		return new PersistentApplicationEventMulticaster(
+		PersistentApplicationEventMulticaster multicaster = new PersistentApplicationEventMulticaster(
 				() -> registry.getIfAvailable(() -> new MapEventPublicationRegistry()));
+		executor.ifAvailable(multicaster::setTaskExecutor);
+		identifierGenerator.ifAvailable(multicaster::setIdentifierGenerator);
+		multicaster.setPublicationFilters(filters.orderedStream().collect(Collectors.toList()));
+		multicaster.setBufferPublications(environment.getProperty(BUFFER_PUBLICATIONS_PROPERTY, Boolean.class, false));
+		multicaster.setQuarantineThreshold(environment.getProperty(QUARANTINE_THRESHOLD_PROPERTY, Integer.class, 0));
+		multicaster.setRepublishOnStartup(
+				!environment.getProperty(BackgroundRepublicationConfiguration.ENABLED_PROPERTY, Boolean.class, false));
+
+		if (environment.getProperty(CLAIMS_PROPERTY, Boolean.class, false)) {
+
+			// Defaults to pid@host, which identifies the application instance for diagnostic purposes
+			String owner = environment.getProperty(CLAIM_OWNER_PROPERTY, ManagementFactory.getRuntimeMXBean().getName());
+
+			multicaster.setClaimOwner(owner);
+			multicaster.setClaimLease(Duration.parse(environment.getProperty(CLAIM_LEASE_PROPERTY, "PT5M")));
+		}
+
+		return multicaster;
 	}
 
 	@Bean
-	static CompletionRegisteringBeanPostProcessor bpp(ObjectFactory<EventPublicationRegistry> store) {
-		return new CompletionRegisteringBeanPostProcessor(() -> store.getObject());
+	static CompletionRegisteringBeanPostProcessor bpp(ObjectFactory<EventPublicationRegistry> store,
+			ObjectProvider<PersistentApplicationEventMulticaster> multicaster) {
+		return new CompletionRegisteringBeanPostProcessor(() -> store.getObject(), () -> multicaster.getIfAvailable());
 	}
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.support.CompletedPublicationsPurger;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Registers a {@link CompletedPublicationsPurger} to periodically purge completed publications. Activated by setting
+ * {@value #ENABLED_PROPERTY} to {@literal true}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Configuration(proxyBeanMethods = false)
+@Import(SchedulingConfiguration.class)
+class RetentionConfiguration {
+
+	static final String ENABLED_PROPERTY = "events.retention.enabled";
+
+	private static final String RETENTION_PROPERTY = "events.retention.completed";
+	private static final String INTERVAL_PROPERTY = "events.retention.purge-interval";
+	private static final String BATCH_SIZE_PROPERTY = "events.retention.batch-size";
+	private static final String ARCHIVE_PROPERTY = "events.retention.archive";
+
+	@Bean
+	CompletedPublicationsPurger completedPublicationsPurger(ObjectFactory<EventPublicationRegistry> registry,
+			@Qualifier(SchedulingConfiguration.SCHEDULER_BEAN_NAME) TaskScheduler scheduler, Environment environment) {
+
+		Duration retention = Duration.parse(environment.getProperty(RETENTION_PROPERTY, "P7D"));
+		Duration interval = Duration.parse(environment.getProperty(INTERVAL_PROPERTY, "PT1H"));
+		int batchSize = environment.getProperty(BATCH_SIZE_PROPERTY, Integer.class, 1000);
+		boolean archive = environment.getProperty(ARCHIVE_PROPERTY, Boolean.class, false);
+
+		return new CompletedPublicationsPurger(() -> registry.getObject(), scheduler, retention, interval, batchSize,
+				archive);
+	}
+}
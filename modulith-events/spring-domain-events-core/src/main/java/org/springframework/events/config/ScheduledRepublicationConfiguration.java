@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.support.PersistentApplicationEventMulticaster;
+import org.springframework.events.support.ScheduledRepublisher;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Registers a {@link ScheduledRepublisher} to periodically republish incomplete publications. Activated by setting
+ * {@value #ENABLED_PROPERTY} to {@literal true}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Configuration(proxyBeanMethods = false)
+@Import(SchedulingConfiguration.class)
+class ScheduledRepublicationConfiguration {
+
+	static final String ENABLED_PROPERTY = "events.republication.scheduled";
+
+	private static final String INTERVAL_PROPERTY = "events.republication.interval";
+	private static final String THRESHOLD_PROPERTY = "events.republication.threshold";
+	private static final String INITIAL_BACKOFF_PROPERTY = "events.republication.initial-backoff";
+	private static final String MAX_BACKOFF_PROPERTY = "events.republication.max-backoff";
+	private static final String BATCH_SIZE_PROPERTY = "events.republication.batch-size";
+
+	@Bean
+	ScheduledRepublisher scheduledRepublisher(ObjectFactory<EventPublicationRegistry> registry,
+			PersistentApplicationEventMulticaster multicaster,
+			@Qualifier(SchedulingConfiguration.SCHEDULER_BEAN_NAME) TaskScheduler scheduler, Environment environment) {
+
+		Duration interval = Duration.parse(environment.getProperty(INTERVAL_PROPERTY, "PT1M"));
+		Duration threshold = Duration.parse(environment.getProperty(THRESHOLD_PROPERTY, "PT5M"));
+		Duration initialBackoff = Duration.parse(environment.getProperty(INITIAL_BACKOFF_PROPERTY, "PT30S"));
+		Duration maxBackoff = Duration.parse(environment.getProperty(MAX_BACKOFF_PROPERTY, "PT1H"));
+		int batchSize = environment.getProperty(BATCH_SIZE_PROPERTY, Integer.class, 100);
+
+		return new ScheduledRepublisher(() -> registry.getObject(), multicaster, scheduler, interval, threshold,
+				initialBackoff, maxBackoff, batchSize);
+	}
+}
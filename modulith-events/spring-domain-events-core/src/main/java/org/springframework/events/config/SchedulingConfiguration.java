@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Registers the {@link TaskScheduler} shared by all components running periodic or background work on publications,
+ * i.e. completion buffering, retention, background and scheduled republication. Imported by the configurations of
+ * those components. The pool is sized by {@value #POOL_SIZE_PROPERTY} and shut down with the application context,
+ * waiting for running tasks to finish for a while.
+ *
+ * @author Oliver Drotbohm
+ */
+@Configuration(proxyBeanMethods = false)
+class SchedulingConfiguration {
+
+	static final String SCHEDULER_BEAN_NAME = "eventPublicationTaskScheduler";
+
+	private static final String POOL_SIZE_PROPERTY = "events.scheduling.pool-size";
+	private static final int AWAIT_TERMINATION_SECONDS = 10;
+
+	@Bean(name = SCHEDULER_BEAN_NAME)
+	ThreadPoolTaskScheduler eventPublicationTaskScheduler(Environment environment) {
+
+		ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(environment.getProperty(POOL_SIZE_PROPERTY, Integer.class, 4));
+		scheduler.setThreadNamePrefix("event-publication-");
+		scheduler.setDaemon(true);
+		scheduler.setWaitForTasksToCompleteOnShutdown(true);
+		scheduler.setAwaitTerminationSeconds(AWAIT_TERMINATION_SECONDS);
+
+		return scheduler;
+	}
+}
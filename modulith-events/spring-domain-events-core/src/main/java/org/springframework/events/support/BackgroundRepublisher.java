@@ -0,0 +1,304 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.events.EventPublication;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Republishes incomplete {@link EventPublication}s in the background once the application is ready, so that a large
+ * backlog doesn't delay the application start. The publications are loaded in chunks and handed to a fixed number of
+ * workers, optionally limited to a maximum number of republications per second and delayed by a configurable amount of
+ * time to let the application warm up first.
+ * <p>
+ * For {@link ApplicationContext}s run by Spring Boot's {@code SpringApplication}, the republication starts on its
+ * {@code ApplicationReadyEvent}, i.e. after the application runners have been invoked. For all others, it starts once
+ * the {@link ApplicationContext} has been refreshed. It's started only once, even if the context is refreshed again, and
+ * interrupted when the republisher is stopped.
+ *
+ * @author Oliver Drotbohm
+ * @see PersistentApplicationEventMulticaster#setRepublishOnStartup(boolean)
+ */
+@Slf4j
+public class BackgroundRepublisher implements SmartApplicationListener, ApplicationContextAware, SmartLifecycle {
+
+	private static final int CHUNK_SIZE = 100;
+
+	private static final @Nullable Class<?> APPLICATION_READY_EVENT = resolveApplicationReadyEvent();
+
+	// Registered by SpringApplication with every context it runs, see SpringApplication#prepareContext(…)
+	private static final String SPRING_APPLICATION_ARGUMENTS_BEAN = "springApplicationArguments";
+
+	private final Supplier<EventPublicationRegistry> registry;
+	private final PersistentApplicationEventMulticaster multicaster;
+	private final TaskScheduler scheduler;
+	private final int parallelism;
+	private final long nanosPerRepublication;
+	private final Duration delay;
+
+	private final AtomicBoolean started = new AtomicBoolean();
+	private final Semaphore pending;
+	private final Object lifecycleMonitor = new Object();
+
+	private ApplicationContext context;
+	private volatile boolean running;
+	private volatile @Nullable ScheduledFuture<?> republication;
+
+	/**
+	 * Creates a new {@link BackgroundRepublisher}.
+	 *
+	 * @param registry must not be {@literal null}.
+	 * @param multicaster must not be {@literal null}.
+	 * @param scheduler the {@link TaskScheduler} to run the republication on, must not be {@literal null}.
+	 * @param parallelism the number of publications to republish concurrently, must be greater than zero.
+	 * @param rateLimit the maximum number of publications to republish per second, zero for no limit.
+	 * @param delay the time to wait after the application is ready before starting the republication, must not be
+	 *          {@literal null}.
+	 */
+	public BackgroundRepublisher(Supplier<EventPublicationRegistry> registry,
+			PersistentApplicationEventMulticaster multicaster, TaskScheduler scheduler, int parallelism, int rateLimit,
+			Duration delay) {
+
+		Assert.notNull(registry, "EventPublicationRegistry must not be null!");
+		Assert.notNull(multicaster, "PersistentApplicationEventMulticaster must not be null!");
+		Assert.notNull(scheduler, "TaskScheduler must not be null!");
+		Assert.isTrue(parallelism > 0, "Parallelism must be greater than zero!");
+		Assert.isTrue(rateLimit >= 0, "Rate limit must not be negative!");
+		Assert.notNull(delay, "Delay must not be null!");
+		Assert.isTrue(!delay.isNegative(), "Delay must not be negative!");
+
+		this.registry = registry;
+		this.multicaster = multicaster;
+		this.scheduler = scheduler;
+		this.parallelism = parallelism;
+		this.nanosPerRepublication = rateLimit == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / rateLimit;
+		this.delay = delay;
+
+		// Bounds the number of publications loaded but not yet republished
+		this.pending = new Semaphore(parallelism * 2);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.ApplicationContextAware#setApplicationContext(org.springframework.context.ApplicationContext)
+	 */
+	@Override
+	public void setApplicationContext(ApplicationContext context) {
+		this.context = context;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.event.SmartApplicationListener#supportsEventType(java.lang.Class)
+	 */
+	@Override
+	public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+
+		return ContextRefreshedEvent.class.isAssignableFrom(eventType)
+				|| APPLICATION_READY_EVENT != null && APPLICATION_READY_EVENT.isAssignableFrom(eventType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.ApplicationListener#onApplicationEvent(org.springframework.context.ApplicationEvent)
+	 */
+	@Override
+	public void onApplicationEvent(ApplicationEvent event) {
+
+		if (event instanceof ContextRefreshedEvent) {
+
+			// Refreshes of other contexts, or of ours in case it's about to publish an ApplicationReadyEvent
+			if (((ContextRefreshedEvent) event).getApplicationContext() != context || isRunBySpringApplication()) {
+				return;
+			}
+		}
+
+		synchronized (lifecycleMonitor) {
+
+			if (!running || !started.compareAndSet(false, true)) {
+				return;
+			}
+
+			this.republication = scheduler.schedule(this::republish, Instant.now().plus(delay));
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#start()
+	 */
+	@Override
+	public void start() {
+		this.running = true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#stop()
+	 */
+	@Override
+	public void stop() {
+
+		synchronized (lifecycleMonitor) {
+
+			this.running = false;
+
+			if (republication != null) {
+				republication.cancel(true);
+				this.republication = null;
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#isRunning()
+	 */
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Republishes all incomplete publications, blocking until all of them have been processed.
+	 *
+	 * @return the number of publications republished.
+	 */
+	int republish() {
+
+		log.info("Republishing incomplete publications in the background using {} threads.", parallelism);
+
+		EventPublicationRegistry registry = this.registry.get();
+		List<EventPublication> publications = multicaster.findIncompletePublications(registry, null, CHUNK_SIZE);
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("event-publication-republication-");
+		threadFactory.setDaemon(true);
+
+		ExecutorService workers = Executors.newFixedThreadPool(parallelism, threadFactory);
+
+		int count = 0;
+		long nextRepublication = System.nanoTime();
+
+		try {
+
+			while (!publications.isEmpty()) {
+
+				for (EventPublication publication : publications) {
+
+					nextRepublication = throttle(nextRepublication);
+
+					pending.acquire();
+					workers.execute(() -> republish(publication));
+
+					count++;
+				}
+
+				if (publications.size() < CHUNK_SIZE) {
+					break;
+				}
+
+				EventPublication last = publications.get(publications.size() - 1);
+				publications = multicaster.findIncompletePublications(registry, last, CHUNK_SIZE);
+			}
+
+			// Wait for the workers to finish the outstanding republications
+			pending.acquire(parallelism * 2);
+			pending.release(parallelism * 2);
+
+			log.info("Republished {} incomplete publications.", count);
+
+		} catch (InterruptedException o_O) {
+
+			log.info("Republication interrupted after {} publications.", count);
+			Thread.currentThread().interrupt();
+
+		} catch (RuntimeException o_O) {
+			log.warn("Republication failed after {} publications!", count, o_O);
+
+		} finally {
+			workers.shutdownNow();
+		}
+
+		return count;
+	}
+
+	private boolean isRunBySpringApplication() {
+		return APPLICATION_READY_EVENT != null && context != null //
+				&& context.containsBean(SPRING_APPLICATION_ARGUMENTS_BEAN);
+	}
+
+	@Nullable
+	private static Class<?> resolveApplicationReadyEvent() {
+
+		String name = "org.springframework.boot.context.event.ApplicationReadyEvent";
+		ClassLoader classLoader = BackgroundRepublisher.class.getClassLoader();
+
+		return ClassUtils.isPresent(name, classLoader) ? ClassUtils.resolveClassName(name, classLoader) : null;
+	}
+
+	private void republish(EventPublication publication) {
+
+		try {
+			multicaster.republish(publication);
+		} finally {
+			pending.release();
+		}
+	}
+
+	/**
+	 * Waits until the given time in case a rate limit is configured and returns the time of the next republication.
+	 */
+	private long throttle(long nextRepublication) throws InterruptedException {
+
+		if (nanosPerRepublication == 0) {
+			return nextRepublication;
+		}
+
+		long now = System.nanoTime();
+
+		if (nextRepublication > now) {
+
+			TimeUnit.NANOSECONDS.sleep(nextRepublication - now);
+			return nextRepublication + nanosPerRepublication;
+		}
+
+		return now + nanosPerRepublication;
+	}
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.events.EventPublication;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.Assert;
+
+/**
+ * {@link EventPublicationRegistry} decorator that buffers completions by publication identifier and hands them to the
+ * delegate in batches, either once a configurable number of completions has been buffered or after a configurable
+ * interval. Completions are flushed when the registry is stopped, i.e. on shutdown before any beans are destroyed. A
+ * completion that's lost due to an application failure before it's flushed leads to the listener being invoked again
+ * on republication, i.e. publications are delivered at least once. If the buffer is full or the registry isn't
+ * running, completions are handed to the delegate immediately.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+public class BufferingEventPublicationRegistry implements EventPublicationRegistry, SmartLifecycle {
+
+	private final Supplier<EventPublicationRegistry> delegate;
+	private final TaskScheduler scheduler;
+	private final int batchSize, capacity;
+	private final Duration flushInterval;
+
+	private final Queue<UUID> completions = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final AtomicBoolean flushRequested = new AtomicBoolean();
+	private final Object lifecycleMonitor = new Object();
+
+	private volatile @Nullable ScheduledFuture<?> flushes;
+
+	/**
+	 * Creates a new {@link BufferingEventPublicationRegistry} for the given delegate {@link EventPublicationRegistry},
+	 * {@link TaskScheduler}, batch size, capacity and flush interval.
+	 *
+	 * @param delegate must not be {@literal null}.
+	 * @param scheduler the {@link TaskScheduler} to flush buffered completions on, must not be {@literal null}.
+	 * @param batchSize the number of completions to trigger a flush, must be greater than zero.
+	 * @param capacity the maximum number of completions to buffer, must not be less than the batch size.
+	 * @param flushInterval the interval to flush buffered completions in, must not be {@literal null}.
+	 */
+	public BufferingEventPublicationRegistry(Supplier<EventPublicationRegistry> delegate, TaskScheduler scheduler,
+			int batchSize, int capacity, Duration flushInterval) {
+
+		Assert.notNull(delegate, "Delegate EventPublicationRegistry must not be null!");
+		Assert.notNull(scheduler, "TaskScheduler must not be null!");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+		Assert.isTrue(capacity >= batchSize, "Capacity must not be less than the batch size!");
+		Assert.notNull(flushInterval, "Flush interval must not be null!");
+		Assert.isTrue(!flushInterval.isNegative() && !flushInterval.isZero(), "Flush interval must be positive!");
+
+		this.delegate = delegate;
+		this.scheduler = scheduler;
+		this.batchSize = batchSize;
+		this.capacity = capacity;
+		this.flushInterval = flushInterval;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#start()
+	 */
+	@Override
+	public void start() {
+
+		synchronized (lifecycleMonitor) {
+
+			if (flushes != null) {
+				return;
+			}
+
+			this.flushes = scheduler.scheduleWithFixedDelay(this::flush, Instant.now().plus(flushInterval), flushInterval);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#stop()
+	 */
+	@Override
+	public void stop() {
+
+		synchronized (lifecycleMonitor) {
+
+			ScheduledFuture<?> flushes = this.flushes;
+
+			if (flushes == null) {
+				return;
+			}
+
+			// Completions arriving from now on are handed to the delegate directly
+			this.flushes = null;
+
+			flushes.cancel(false);
+			flush();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#isRunning()
+	 */
+	@Override
+	public boolean isRunning() {
+		return flushes != null;
+	}
+
+	/**
+	 * Stops the registry after the components republishing publications so that their completions are flushed, too.
+	 *
+	 * @see org.springframework.context.SmartLifecycle#getPhase()
+	 */
+	@Override
+	public int getPhase() {
+		return DEFAULT_PHASE - 1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#store(java.lang.Object, java.util.Collection)
+	 */
+	@Override
+	public Collection<EventPublication> store(Object event, Collection<ApplicationListener<?>> listeners) {
+		return delegate.get().store(event, listeners);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#store(org.springframework.events.EventPublication)
+	 */
+	@Override
+	public void store(EventPublication publication) {
+		delegate.get().store(publication);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#storeAll(java.util.Collection)
+	 */
+	@Override
+	public void storeAll(Collection<EventPublication> publications) {
+		delegate.get().storeAll(publications);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#markCompleted(java.lang.Object, org.springframework.events.PublicationTargetIdentifier)
+	 */
+	@Override
+	public void markCompleted(Object event, PublicationTargetIdentifier listener) {
+		delegate.get().markCompleted(event, listener);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#markCompleted(java.util.UUID)
+	 */
+	@Override
+	public void markCompleted(UUID identifier) {
+
+		Assert.notNull(identifier, "Publication identifier must not be null!");
+
+		if (flushes == null) {
+
+			delegate.get().markCompleted(identifier);
+
+			return;
+		}
+
+		if (size.incrementAndGet() > capacity) {
+
+			size.decrementAndGet();
+			delegate.get().markCompleted(identifier);
+
+			return;
+		}
+
+		completions.add(identifier);
+
+		if (size.get() >= batchSize && flushRequested.compareAndSet(false, true)) {
+
+			try {
+				scheduler.schedule(this::flush, Instant.now());
+			} catch (RejectedExecutionException o_O) {
+				flushRequested.set(false);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#markCompleted(java.util.Collection)
+	 */
+	@Override
+	public void markCompleted(Collection<UUID> identifiers) {
+		identifiers.forEach(this::markCompleted);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#deleteCompletedPublications(java.time.Instant, int, boolean)
+	 */
+	@Override
+	public int deleteCompletedPublications(Instant completedBefore, int limit, boolean archive) {
+		return delegate.get().deleteCompletedPublications(completedBefore, limit, archive);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#findIncompletePublications()
+	 */
+	@Override
+	public Iterable<EventPublication> findIncompletePublications() {
+		return delegate.get().findIncompletePublications();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#findIncompletePublications(org.springframework.events.EventPublication, int)
+	 */
+	@Override
+	public List<EventPublication> findIncompletePublications(@Nullable EventPublication after, int limit) {
+		return delegate.get().findIncompletePublications(after, limit);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#claimIncompletePublications(java.lang.String, java.time.Duration, int)
+	 */
+	@Override
+	public List<EventPublication> claimIncompletePublications(String owner, Duration lease, int limit) {
+		return delegate.get().claimIncompletePublications(owner, lease, limit);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#findDuePublications(java.time.Instant, java.time.Duration, int)
+	 */
+	@Override
+	public List<EventPublication> findDuePublications(Instant dueAt, Duration threshold, int limit) {
+		return delegate.get().findDuePublications(dueAt, threshold, limit);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#registerAttempt(java.util.UUID, java.time.Instant)
+	 */
+	@Override
+	public void registerAttempt(UUID identifier, Instant nextAttempt) {
+		delegate.get().registerAttempt(identifier, nextAttempt);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#registerFailure(java.util.UUID, java.lang.String, int)
+	 */
+	@Override
+	public boolean registerFailure(UUID identifier, String failure, int quarantineThreshold) {
+		return delegate.get().registerFailure(identifier, failure, quarantineThreshold);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#findQuarantinedPublications(int)
+	 */
+	@Override
+	public List<EventPublication> findQuarantinedPublications(int limit) {
+		return delegate.get().findQuarantinedPublications(limit);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#requeueQuarantinedPublications(java.util.Collection)
+	 */
+	@Override
+	public int requeueQuarantinedPublications(Collection<UUID> identifiers) {
+		return delegate.get().requeueQuarantinedPublications(identifiers);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#requeueQuarantinedPublications()
+	 */
+	@Override
+	public int requeueQuarantinedPublications() {
+		return delegate.get().requeueQuarantinedPublications();
+	}
+
+	/**
+	 * Hands all currently buffered completions to the delegate in batches. Completions of a batch that fails to be
+	 * flushed are put back into the buffer to be retried on the next flush.
+	 */
+	void flush() {
+
+		flushRequested.set(false);
+
+		while (!completions.isEmpty()) {
+
+			List<UUID> batch = new ArrayList<>(batchSize);
+			UUID identifier;
+
+			while (batch.size() < batchSize && (identifier = completions.poll()) != null) {
+				batch.add(identifier);
+			}
+
+			if (batch.isEmpty()) {
+				return;
+			}
+
+			try {
+
+				delegate.get().markCompleted(batch);
+				size.addAndGet(-batch.size());
+
+				log.debug("Flushed {} publication completions.", batch.size());
+
+			} catch (RuntimeException o_O) {
+
+				log.warn("Flushing {} publication completions failed, retrying later!", batch.size(), o_O);
+				completions.addAll(batch);
+
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import org.springframework.util.Assert;
+
+/**
+ * An in-memory cache of a dictionary mapping frequently repeated values (e.g. event types and listener identifiers) to
+ * small integer keys so that registries can store the latter instead of the former. Looks up keys and values via the
+ * given resolvers on first use only. Resolved entries are never evicted, as the number of event types and listeners of
+ * an application is expected to be small.
+ *
+ * @author Oliver Drotbohm
+ */
+public class CachingDictionary<T> {
+
+	private final Function<T, Integer> keyResolver;
+	private final IntFunction<T> valueResolver;
+
+	private final Map<T, Integer> keys = new ConcurrentHashMap<>();
+	private final Map<Integer, T> values = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new {@link CachingDictionary} for the given key and value resolver.
+	 *
+	 * @param keyResolver looks up the key for a value, creating a dictionary entry if none exists yet. Must not be
+	 *          {@literal null}.
+	 * @param valueResolver looks up the value for a key, must not be {@literal null}.
+	 */
+	public CachingDictionary(Function<T, Integer> keyResolver, IntFunction<T> valueResolver) {
+
+		Assert.notNull(keyResolver, "Key resolver must not be null!");
+		Assert.notNull(valueResolver, "Value resolver must not be null!");
+
+		this.keyResolver = keyResolver;
+		this.valueResolver = valueResolver;
+	}
+
+	/**
+	 * Returns the key for the given value.
+	 *
+	 * @param value must not be {@literal null}.
+	 * @return
+	 */
+	public int getKey(T value) {
+
+		Assert.notNull(value, "Value must not be null!");
+
+		Integer key = keys.get(value);
+
+		if (key == null) {
+
+			key = keyResolver.apply(value);
+
+			Assert.state(key != null, () -> String.format("Could not resolve key for %s!", value));
+
+			register(key, value);
+		}
+
+		return key;
+	}
+
+	/**
+	 * Returns the value for the given key.
+	 *
+	 * @param key the key to look up.
+	 * @return will never be {@literal null}.
+	 * @throws IllegalStateException in case no value can be found for the given key.
+	 */
+	public T getValue(int key) {
+
+		T value = values.get(key);
+
+		if (value == null) {
+
+			value = valueResolver.apply(key);
+
+			Assert.state(value != null, () -> String.format("No dictionary entry found for key %s!", key));
+
+			register(key, value);
+		}
+
+		return value;
+	}
+
+	private void register(Integer key, T value) {
+
+		keys.put(value, key);
+		values.put(key, value);
+	}
+}
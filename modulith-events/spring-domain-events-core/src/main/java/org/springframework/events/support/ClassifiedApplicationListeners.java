@@ -0,0 +1,384 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.events.NonPersistent;
+import org.springframework.events.PublicationFilter;
+import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * The {@link ApplicationListener}s of an event type split up into the transactional ones, publications have to be
+ * stored for, and the ones that can be invoked asynchronously after commit. Also keeps track of the transactional
+ * listeners declaring a fallback execution or a condition to tell whether they will be invoked for a particular event
+ * at all. Listeners opted out of persistence via {@link NonPersistent} or a {@link PublicationFilter} are not
+ * considered transactional ones. The classification of each listener is cached by a {@link Classifier}, so that
+ * publishing an event doesn't need to inspect the listeners again.
+ *
+ * @author Oliver Drotbohm
+ * @see PersistentApplicationEventMulticaster
+ */
+@Slf4j
+class ClassifiedApplicationListeners {
+
+	private static final Field LISTENER_METHOD_FIELD;
+
+	static {
+
+		LISTENER_METHOD_FIELD = ReflectionUtils.findField(ApplicationListenerMethodAdapter.class, "method");
+		ReflectionUtils.makeAccessible(LISTENER_METHOD_FIELD);
+	}
+
+	private final Collection<ApplicationListener<?>> listeners;
+	private final List<ApplicationListener<?>> transactionalListeners, fallbackListeners;
+	private final Map<ApplicationListener<?>, PublicationTargetIdentifier> afterCommitListeners;
+	private final Map<ApplicationListener<?>, String> conditions;
+
+	private ClassifiedApplicationListeners(Collection<ApplicationListener<?>> listeners, Class<?> eventType,
+			Classifier classifier) {
+
+		List<ApplicationListener<?>> transactionalListeners = new ArrayList<>();
+		List<ApplicationListener<?>> fallbackListeners = new ArrayList<>();
+		Map<ApplicationListener<?>, PublicationTargetIdentifier> afterCommitListeners = new IdentityHashMap<>();
+		Map<ApplicationListener<?>, String> conditions = new IdentityHashMap<>();
+
+		for (ApplicationListener<?> listener : listeners) {
+
+			ListenerClassification classification = classifier.getClassification(listener);
+
+			if (classification == null || !classification.requiresPublication(listener, eventType, classifier.filters)) {
+				continue;
+			}
+
+			TransactionalEventListener annotation = classification.annotation;
+
+			transactionalListeners.add(listener);
+
+			if (annotation.fallbackExecution()) {
+				fallbackListeners.add(listener);
+			}
+
+			if (StringUtils.hasText(annotation.condition())) {
+				conditions.put(listener, annotation.condition());
+			}
+
+			if (classification.afterCommitIdentifier != null) {
+				afterCommitListeners.put(listener, classification.afterCommitIdentifier);
+			}
+		}
+
+		this.listeners = listeners;
+		this.transactionalListeners = Collections.unmodifiableList(transactionalListeners);
+		this.fallbackListeners = Collections.unmodifiableList(fallbackListeners);
+		this.afterCommitListeners = afterCommitListeners;
+		this.conditions = conditions;
+	}
+
+	/**
+	 * Classifies the given {@link ApplicationListener}s.
+	 *
+	 * @param listeners must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static ClassifiedApplicationListeners of(Collection<ApplicationListener<?>> listeners) {
+		return of(listeners, Object.class, Collections.emptyList());
+	}
+
+	/**
+	 * Classifies the given {@link ApplicationListener}s of the given event type, excluding the ones not requiring
+	 * publications from the transactional ones.
+	 *
+	 * @param listeners must not be {@literal null}.
+	 * @param eventType the type of the event, i.e. its payload type if it's not an
+	 *          {@link org.springframework.context.ApplicationEvent}, must not be {@literal null}.
+	 * @param filters must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static ClassifiedApplicationListeners of(Collection<ApplicationListener<?>> listeners, Class<?> eventType,
+			Collection<PublicationFilter> filters) {
+		return new Classifier(filters).classify(listeners, eventType);
+	}
+
+	/**
+	 * Returns all listeners in invocation order.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	Collection<ApplicationListener<?>> getListeners() {
+		return listeners;
+	}
+
+	/**
+	 * Returns whether the current instance was created for exactly the given listener instances in the given order, i.e.
+	 * whether it can be used for an invocation of them. That's not the case if any of them is a scoped or prototype one
+	 * or listeners have been added or removed in the meantime.
+	 *
+	 * @param listeners must not be {@literal null}.
+	 * @return
+	 */
+	boolean isClassificationOf(Collection<ApplicationListener<?>> listeners) {
+
+		if (this.listeners.size() != listeners.size()) {
+			return false;
+		}
+
+		Iterator<ApplicationListener<?>> iterator = this.listeners.iterator();
+
+		for (ApplicationListener<?> listener : listeners) {
+			if (iterator.next() != listener) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the {@link TransactionalEventListener}s, i.e. the listeners to store publications for.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	List<ApplicationListener<?>> getTransactionalListeners() {
+		return transactionalListeners;
+	}
+
+	/**
+	 * Returns the {@link TransactionalEventListener}s that are going to be invoked for the given event, i.e. the ones
+	 * publications actually have to be stored for. Without a transaction running, only the listeners declaring a
+	 * {@link TransactionalEventListener#fallbackExecution()} are invoked. Listeners whose
+	 * {@link TransactionalEventListener#condition()} doesn't match the event are skipped in any case. Conditions that
+	 * fail to evaluate are considered matching, so that the publication is stored.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param evaluator must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	List<ApplicationListener<?>> getTransactionalListeners(ApplicationEvent event, ListenerConditionEvaluator evaluator) {
+
+		List<ApplicationListener<?>> candidates = isTransactionActive() ? transactionalListeners : fallbackListeners;
+
+		if (candidates.isEmpty() || conditions.isEmpty()) {
+			return candidates;
+		}
+
+		List<ApplicationListener<?>> result = new ArrayList<>(candidates.size());
+
+		for (ApplicationListener<?> candidate : candidates) {
+			if (matchesCondition(candidate, event, evaluator)) {
+				result.add(candidate);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the {@link PublicationTargetIdentifier} of the given listener in case it's a
+	 * {@link TransactionalEventListener} for the {@link TransactionPhase#AFTER_COMMIT} phase.
+	 *
+	 * @param listener must not be {@literal null}.
+	 * @return the identifier or {@literal null} in case the listener is not an after-commit one.
+	 */
+	@Nullable
+	PublicationTargetIdentifier getAfterCommitListenerIdentifier(ApplicationListener<?> listener) {
+		return afterCommitListeners.get(listener);
+	}
+
+	private boolean matchesCondition(ApplicationListener<?> listener, ApplicationEvent event,
+			ListenerConditionEvaluator evaluator) {
+
+		String condition = conditions.get(listener);
+
+		if (condition == null) {
+			return true;
+		}
+
+		try {
+			return evaluator.matches(condition, event, getListenerMethod(listener));
+		} catch (RuntimeException o_O) {
+
+			log.debug("Evaluating condition {} failed, storing publication anyway.", condition, o_O);
+
+			return true;
+		}
+	}
+
+	/**
+	 * Returns whether Spring's transactional listener adapter defers the listener invocation to the current transaction,
+	 * i.e. whether there's an actual transaction running that accepts synchronizations.
+	 *
+	 * @return
+	 */
+	private static boolean isTransactionActive() {
+		return TransactionSynchronizationManager.isSynchronizationActive()
+				&& TransactionSynchronizationManager.isActualTransactionActive();
+	}
+
+	private static Method getListenerMethod(ApplicationListener<?> listener) {
+		return (Method) ReflectionUtils.getField(LISTENER_METHOD_FIELD, listener);
+	}
+
+	/**
+	 * Classifies {@link ApplicationListener}s using the given {@link PublicationFilter}s, caching the result per listener
+	 * instance. Only the listener adapters created for {@link TransactionalEventListener} methods are inspected and
+	 * cached, so that scoped and prototype listener beans, which never are such adapters, don't pile up in the cache.
+	 * Entries are weakly referenced and get dropped once a listener has been removed.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	static class Classifier {
+
+		private final Collection<PublicationFilter> filters;
+		private final Map<ApplicationListener<?>, Optional<ListenerClassification>> classifications;
+
+		/**
+		 * Creates a new {@link Classifier} for the given {@link PublicationFilter}s.
+		 *
+		 * @param filters must not be {@literal null}.
+		 */
+		Classifier(Collection<PublicationFilter> filters) {
+
+			Assert.notNull(filters, "PublicationFilters must not be null!");
+
+			this.filters = filters;
+			this.classifications = new ConcurrentReferenceHashMap<>(64, ReferenceType.WEAK);
+		}
+
+		/**
+		 * Classifies the given {@link ApplicationListener}s of the given event type.
+		 *
+		 * @param listeners must not be {@literal null}.
+		 * @param eventType the type of the event, i.e. its payload type if it's not an
+		 *          {@link org.springframework.context.ApplicationEvent}, must not be {@literal null}.
+		 * @return will never be {@literal null}.
+		 */
+		ClassifiedApplicationListeners classify(Collection<ApplicationListener<?>> listeners, Class<?> eventType) {
+			return new ClassifiedApplicationListeners(listeners, eventType, this);
+		}
+
+		/**
+		 * Returns whether a publication has to be stored for the given listener and event type, i.e. whether it's a
+		 * {@link TransactionalEventListener} neither opted out via {@link NonPersistent} nor by any of the
+		 * {@link PublicationFilter}s.
+		 *
+		 * @param listener must not be {@literal null}.
+		 * @param eventType must not be {@literal null}.
+		 * @return
+		 */
+		boolean requiresPublication(ApplicationListener<?> listener, Class<?> eventType) {
+
+			ListenerClassification classification = getClassification(listener);
+
+			return classification != null && classification.requiresPublication(listener, eventType, filters);
+		}
+
+		/**
+		 * Drops all cached classifications.
+		 */
+		void clear() {
+			classifications.clear();
+		}
+
+		@Nullable
+		private ListenerClassification getClassification(ApplicationListener<?> listener) {
+
+			if (!ApplicationListenerMethodAdapter.class.isInstance(listener)) {
+				return null;
+			}
+
+			return classifications.computeIfAbsent(listener, ListenerClassification::of).orElse(null);
+		}
+	}
+
+	/**
+	 * The {@link TransactionalEventListener} related metadata of a single listener and the decisions whether publications
+	 * have to be stored for it per event type.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	private static class ListenerClassification {
+
+		private final Method method;
+		private final TransactionalEventListener annotation;
+		private final @Nullable PublicationTargetIdentifier afterCommitIdentifier;
+		private final Map<Class<?>, Boolean> requiresPublication = new ConcurrentHashMap<>(4);
+
+		private ListenerClassification(ApplicationListener<?> listener, Method method,
+				TransactionalEventListener annotation) {
+
+			this.method = method;
+			this.annotation = annotation;
+			this.afterCommitIdentifier = TransactionPhase.AFTER_COMMIT.equals(annotation.phase()) //
+					? PublicationTargetIdentifier.forListener(listener) //
+					: null;
+		}
+
+		static Optional<ListenerClassification> of(ApplicationListener<?> listener) {
+
+			Method method = getListenerMethod(listener);
+			TransactionalEventListener annotation = AnnotatedElementUtils.findMergedAnnotation(method,
+					TransactionalEventListener.class);
+
+			return Optional.ofNullable(annotation).map(it -> new ListenerClassification(listener, method, it));
+		}
+
+		boolean requiresPublication(ApplicationListener<?> listener, Class<?> eventType,
+				Collection<PublicationFilter> filters) {
+
+			return requiresPublication.computeIfAbsent(eventType, it -> {
+
+				if (AnnotatedElementUtils.hasAnnotation(method, NonPersistent.class)
+						|| AnnotatedElementUtils.hasAnnotation(it, NonPersistent.class)) {
+					return false;
+				}
+
+				for (PublicationFilter filter : filters) {
+					if (!filter.requiresPublication(listener, it)) {
+						return false;
+					}
+				}
+
+				return true;
+			});
+		}
+	}
+}
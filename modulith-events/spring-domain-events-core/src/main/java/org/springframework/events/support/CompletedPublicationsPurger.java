@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.Assert;
+
+/**
+ * Periodically purges publications that have been completed longer ago than a configurable retention period. Deletes
+ * in bounded batches, each in a separate transaction, to avoid holding locks for a long time and optionally archives
+ * the publications before deleting them.
+ *
+ * @author Oliver Drotbohm
+ * @see EventPublicationRegistry#deleteCompletedPublications(Instant, int, boolean)
+ */
+@Slf4j
+public class CompletedPublicationsPurger implements SmartLifecycle {
+
+	private final Supplier<EventPublicationRegistry> registry;
+	private final Duration retention;
+	private final int batchSize;
+	private final boolean archive;
+	private final TaskScheduler scheduler;
+	private final Duration interval;
+	private final Object lifecycleMonitor = new Object();
+
+	private volatile @Nullable ScheduledFuture<?> purges;
+
+	/**
+	 * Creates a new {@link CompletedPublicationsPurger} for the given {@link EventPublicationRegistry},
+	 * {@link TaskScheduler}, retention period, purge interval, batch size and archive flag.
+	 *
+	 * @param registry must not be {@literal null}.
+	 * @param scheduler the {@link TaskScheduler} to purge completed publications on, must not be {@literal null}.
+	 * @param retention the period to keep completed publications for, must not be {@literal null} or negative.
+	 * @param interval the interval to purge completed publications in, must not be {@literal null}.
+	 * @param batchSize the maximum number of publications to delete in a single transaction, must be greater than zero.
+	 * @param archive whether to archive the publications before deleting them.
+	 */
+	public CompletedPublicationsPurger(Supplier<EventPublicationRegistry> registry, TaskScheduler scheduler,
+			Duration retention, Duration interval, int batchSize, boolean archive) {
+
+		Assert.notNull(registry, "EventPublicationRegistry must not be null!");
+		Assert.notNull(scheduler, "TaskScheduler must not be null!");
+		Assert.notNull(retention, "Retention must not be null!");
+		Assert.isTrue(!retention.isNegative(), "Retention must not be negative!");
+		Assert.notNull(interval, "Purge interval must not be null!");
+		Assert.isTrue(!interval.isNegative() && !interval.isZero(), "Purge interval must be positive!");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+
+		this.registry = registry;
+		this.scheduler = scheduler;
+		this.retention = retention;
+		this.interval = interval;
+		this.batchSize = batchSize;
+		this.archive = archive;
+	}
+
+	/**
+	 * Purges all publications completed before the configured retention period.
+	 *
+	 * @return the number of publications purged.
+	 */
+	public int purge() {
+
+		Instant completedBefore = Instant.now().minus(retention);
+		EventPublicationRegistry registry = this.registry.get();
+
+		int purged = 0, deleted;
+
+		do {
+			deleted = registry.deleteCompletedPublications(completedBefore, batchSize, archive);
+			purged += deleted;
+		} while (deleted >= batchSize);
+
+		log.info("Purged {} publications completed before {}{}.", purged, completedBefore, archive ? " (archived)" : "");
+
+		return purged;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#start()
+	 */
+	@Override
+	public void start() {
+
+		synchronized (lifecycleMonitor) {
+
+			if (purges == null) {
+				this.purges = scheduler.scheduleWithFixedDelay(this::purgeSafely, Instant.now().plus(interval), interval);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#stop()
+	 */
+	@Override
+	public void stop() {
+
+		synchronized (lifecycleMonitor) {
+
+			if (purges != null) {
+				purges.cancel(false);
+				this.purges = null;
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#isRunning()
+	 */
+	@Override
+	public boolean isRunning() {
+		return purges != null;
+	}
+
+	private void purgeSafely() {
+
+		try {
+			purge();
+		} catch (RuntimeException o_O) {
+			log.warn("Purging completed publications failed!", o_O);
+		}
+	}
+}
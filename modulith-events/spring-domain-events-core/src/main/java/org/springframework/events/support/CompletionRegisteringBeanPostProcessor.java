@@ -22,6 +22,8 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Supplier;
 
 import org.aopalliance.intercept.MethodInterceptor;
@@ -34,6 +36,7 @@ import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.NonPersistent;
 import org.springframework.events.PublicationTargetIdentifier;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
@@ -46,14 +49,42 @@ import org.springframework.util.ReflectionUtils.MethodCallback;
  * {@link BeanPostProcessor} that will add a
  * {@link org.springframework.events.support.CompletionRegisteringBeanPostProcessor.ProxyCreatingMethodCallback.CompletionRegisteringMethodInterceptor}
  * to the bean in case it carries a {@link TransactionalEventListener} annotation so that the successful invocation of
- * those methods mark the event publication to those listeners as completed.
+ * those methods mark the event publication to those listeners as completed. Listeners opted out of persistence by a
+ * {@link org.springframework.events.PublicationFilter} of the {@link PersistentApplicationEventMulticaster} don't
+ * trigger a completion.
  *
  * @author Oliver Drotbohm
  */
-@RequiredArgsConstructor
 public class CompletionRegisteringBeanPostProcessor implements BeanPostProcessor {
 
-	private final @NonNull Supplier<EventPublicationRegistry> store;
+	private final Supplier<EventPublicationRegistry> store;
+	private final Supplier<PersistentApplicationEventMulticaster> multicaster;
+
+	/**
+	 * Creates a new {@link CompletionRegisteringBeanPostProcessor} for the given {@link EventPublicationRegistry}.
+	 *
+	 * @param store must not be {@literal null}.
+	 */
+	public CompletionRegisteringBeanPostProcessor(Supplier<EventPublicationRegistry> store) {
+		this(store, () -> null);
+	}
+
+	/**
+	 * Creates a new {@link CompletionRegisteringBeanPostProcessor} for the given {@link EventPublicationRegistry} and
+	 * {@link PersistentApplicationEventMulticaster} to consult whether a listener requires publications at all.
+	 *
+	 * @param store must not be {@literal null}.
+	 * @param multicaster must not be {@literal null}, but may supply {@literal null}.
+	 */
+	public CompletionRegisteringBeanPostProcessor(Supplier<EventPublicationRegistry> store,
+			Supplier<PersistentApplicationEventMulticaster> multicaster) {
+
+		Assert.notNull(store, "EventPublicationRegistry must not be null!");
+		Assert.notNull(multicaster, "PersistentApplicationEventMulticaster must not be null!");
+
+		this.store = store;
+		this.multicaster = multicaster;
+	}
 
 	/*
 	 * (non-Javadoc)
@@ -71,7 +102,7 @@ public class CompletionRegisteringBeanPostProcessor implements BeanPostProcessor
 	@Override
 	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
 
-		ProxyCreatingMethodCallback callback = new ProxyCreatingMethodCallback(store, bean);
+		ProxyCreatingMethodCallback callback = new ProxyCreatingMethodCallback(store, multicaster, bean);
 
 		ReflectionUtils.doWithMethods(AopProxyUtils.ultimateTargetClass(bean), callback);
 
@@ -93,19 +124,22 @@ public class CompletionRegisteringBeanPostProcessor implements BeanPostProcessor
 		private boolean methodFound = false;
 
 		/**
-		 * Creates a new {@link ProxyCreatingMethodCallback} for the given {@link EventPublicationRegistry} and bean
-		 * instance.
+		 * Creates a new {@link ProxyCreatingMethodCallback} for the given {@link EventPublicationRegistry},
+		 * {@link PersistentApplicationEventMulticaster} and bean instance.
 		 *
 		 * @param registry must not be {@literal null}.
+		 * @param multicaster must not be {@literal null}.
 		 * @param bean must not be {@literal null}.
 		 */
-		public ProxyCreatingMethodCallback(Supplier<EventPublicationRegistry> registry, Object bean) {
+		public ProxyCreatingMethodCallback(Supplier<EventPublicationRegistry> registry,
+				Supplier<PersistentApplicationEventMulticaster> multicaster, Object bean) {
 
 			Assert.notNull(registry, "EventPublicationRegistry must not be null!");
+			Assert.notNull(multicaster, "PersistentApplicationEventMulticaster must not be null!");
 			Assert.notNull(bean, "Bean must not be null!");
 
 			this.bean = bean;
-			this.interceptor = new CompletionRegisteringMethodInterceptor(registry);
+			this.interceptor = new CompletionRegisteringMethodInterceptor(registry, multicaster);
 		}
 
 		/*
@@ -154,6 +188,7 @@ public class CompletionRegisteringBeanPostProcessor implements BeanPostProcessor
 			private static final Map<Method, Boolean> COMPLETING_METHOD = new ConcurrentReferenceHashMap<>();
 
 			private final @NonNull Supplier<EventPublicationRegistry> registry;
+			private final @NonNull Supplier<PersistentApplicationEventMulticaster> multicaster;
 
 			/*
 			 * (non-Javadoc)
@@ -178,8 +213,15 @@ public class CompletionRegisteringBeanPostProcessor implements BeanPostProcessor
 					return result;
 				}
 
+				Object event = invocation.getArguments()[0];
 				PublicationTargetIdentifier identifier = PublicationTargetIdentifier.forMethod(method);
-				registry.get().markCompleted(invocation.getArguments()[0], identifier);
+				Optional<UUID> publicationIdentifier = InFlightPublications.consume(event, identifier);
+
+				if (publicationIdentifier.isPresent()) {
+					registry.get().markCompleted(publicationIdentifier.get());
+				} else if (requiresPublication(event, identifier)) {
+					registry.get().markCompleted(event, identifier);
+				}
 
 				return result;
 			}
@@ -194,7 +236,23 @@ public class CompletionRegisteringBeanPostProcessor implements BeanPostProcessor
 			}
 
 			/**
-			 * Returns whether the given method is one that requires publication completion.
+			 * Returns whether a publication has been stored for the given event and listener, i.e. whether the listener
+			 * has not been opted out by a {@link org.springframework.events.PublicationFilter}.
+			 *
+			 * @param event must not be {@literal null}.
+			 * @param identifier must not be {@literal null}.
+			 * @return
+			 */
+			private boolean requiresPublication(Object event, PublicationTargetIdentifier identifier) {
+
+				PersistentApplicationEventMulticaster multicaster = this.multicaster.get();
+
+				return multicaster == null || multicaster.requiresPublication(identifier, event.getClass());
+			}
+
+			/**
+			 * Returns whether the given method is one that requires publication completion, i.e. an after-commit listener
+			 * neither opted out of persistence itself nor listening to an event type that is.
 			 *
 			 * @param method must not be {@literal null}.
 			 * @return
@@ -208,7 +266,15 @@ public class CompletionRegisteringBeanPostProcessor implements BeanPostProcessor
 					TransactionalEventListener annotation = AnnotatedElementUtils.getMergedAnnotation(method,
 							TransactionalEventListener.class);
 
-					return annotation == null ? false : annotation.phase().equals(TransactionPhase.AFTER_COMMIT);
+					if (annotation == null || !annotation.phase().equals(TransactionPhase.AFTER_COMMIT)
+							|| AnnotatedElementUtils.hasAnnotation(method, NonPersistent.class)) {
+						return false;
+					}
+
+					Class<?>[] parameterTypes = method.getParameterTypes();
+
+					return parameterTypes.length == 0
+							|| !AnnotatedElementUtils.hasAnnotation(parameterTypes[0], NonPersistent.class);
 				});
 			}
 		}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.events.EventPublication;
+import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.util.Assert;
+
+/**
+ * Keeps track of the identifiers of {@link EventPublication}s whose target listeners are about to be invoked on the
+ * current thread. This allows the {@link CompletionRegisteringBeanPostProcessor} to mark a publication completed by
+ * its identifier instead of having to look it up by the event instance.
+ *
+ * @author Oliver Drotbohm
+ */
+class InFlightPublications {
+
+	private static final ThreadLocal<Map<Key, Deque<UUID>>> PUBLICATIONS = ThreadLocal.withInitial(HashMap::new);
+
+	/**
+	 * Registers the given {@link EventPublication} for the given event instance.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param publication must not be {@literal null}.
+	 */
+	static void register(Object event, EventPublication publication) {
+
+		Assert.notNull(event, "Event must not be null!");
+		Assert.notNull(publication, "Publication must not be null!");
+
+		PUBLICATIONS.get() //
+				.computeIfAbsent(Key.of(event, publication.getTargetIdentifier()), it -> new ArrayDeque<>()) //
+				.add(publication.getIdentifier());
+	}
+
+	/**
+	 * Returns the identifier of the publication registered for the given event instance and
+	 * {@link PublicationTargetIdentifier} and removes it from the ones in flight.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param identifier must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static Optional<UUID> consume(Object event, PublicationTargetIdentifier identifier) {
+
+		Assert.notNull(event, "Event must not be null!");
+		Assert.notNull(identifier, "Identifier must not be null!");
+
+		Map<Key, Deque<UUID>> publications = PUBLICATIONS.get();
+		Key key = Key.of(event, identifier);
+		Deque<UUID> identifiers = publications.get(key);
+
+		if (identifiers == null) {
+			return Optional.empty();
+		}
+
+		UUID result = identifiers.poll();
+
+		if (identifiers.isEmpty()) {
+			publications.remove(key);
+		}
+
+		if (publications.isEmpty()) {
+			PUBLICATIONS.remove();
+		}
+
+		return Optional.ofNullable(result);
+	}
+
+	/**
+	 * Removes the given {@link EventPublication} for the given event instance in case it hasn't been consumed yet.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param publication must not be {@literal null}.
+	 * @return whether the publication was still in flight, i.e. hadn't been consumed yet.
+	 */
+	static boolean unregister(Object event, EventPublication publication) {
+
+		Assert.notNull(event, "Event must not be null!");
+		Assert.notNull(publication, "Publication must not be null!");
+
+		Map<Key, Deque<UUID>> publications = PUBLICATIONS.get();
+		Key key = Key.of(event, publication.getTargetIdentifier());
+		Deque<UUID> identifiers = publications.get(key);
+
+		if (identifiers == null) {
+			return false;
+		}
+
+		boolean removed = identifiers.remove(publication.getIdentifier());
+
+		if (identifiers.isEmpty()) {
+			publications.remove(key);
+		}
+
+		if (publications.isEmpty()) {
+			PUBLICATIONS.remove();
+		}
+
+		return removed;
+	}
+
+	/**
+	 * Key to look up publications by event <em>instance</em> and {@link PublicationTargetIdentifier}.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	private static class Key {
+
+		private final Object event;
+		private final PublicationTargetIdentifier identifier;
+		private final int eventIdentity;
+
+		static Key of(Object event, PublicationTargetIdentifier identifier) {
+			return new Key(event, identifier, System.identityHashCode(event));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			Key that = (Key) obj;
+
+			return this.event == that.event && this.identifier.equals(that.identifier);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * eventIdentity + identifier.hashCode();
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import lombok.Value;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.context.expression.CachedExpressionEvaluator;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.Assert;
+
+/**
+ * Evaluates the {@link TransactionalEventListener#condition()} of a listener method for an event the same way Spring's
+ * listener adapter does on invocation, i.e. exposing {@code #root.event}, {@code #root.args} and the method
+ * parameters. The parsed expressions are cached per listener method.
+ *
+ * @author Oliver Drotbohm
+ * @see ClassifiedApplicationListeners
+ */
+class ListenerConditionEvaluator extends CachedExpressionEvaluator {
+
+	private final Map<ExpressionKey, Expression> conditionCache = new ConcurrentHashMap<>(64);
+	private final @Nullable BeanFactory beanFactory;
+
+	/**
+	 * Creates a new {@link ListenerConditionEvaluator} resolving bean references against the given {@link BeanFactory}.
+	 *
+	 * @param beanFactory can be {@literal null}.
+	 */
+	ListenerConditionEvaluator(@Nullable BeanFactory beanFactory) {
+		this.beanFactory = beanFactory;
+	}
+
+	/**
+	 * Returns whether the given condition declared on the given listener method matches the given event.
+	 *
+	 * @param condition must not be {@literal null} or empty.
+	 * @param event must not be {@literal null}.
+	 * @param method must not be {@literal null}.
+	 * @return
+	 */
+	boolean matches(String condition, ApplicationEvent event, Method method) {
+
+		Assert.hasText(condition, "Condition must not be null or empty!");
+		Assert.notNull(event, "ApplicationEvent must not be null!");
+		Assert.notNull(method, "Method must not be null!");
+
+		Object[] arguments = resolveArguments(event, method);
+		ConditionRootObject root = new ConditionRootObject(event, arguments);
+
+		MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(root, method, arguments,
+				getParameterNameDiscoverer());
+
+		if (beanFactory != null) {
+			context.setBeanResolver(new BeanFactoryResolver(beanFactory));
+		}
+
+		Object result = getExpression(conditionCache, new AnnotatedElementKey(method, null), condition).getValue(context);
+
+		return Boolean.TRUE.equals(result) || result instanceof String && "true".equalsIgnoreCase((String) result);
+	}
+
+	/**
+	 * Returns the arguments the given listener method would be invoked with for the given event, i.e. the payload of a
+	 * {@link PayloadApplicationEvent} unless the method declares to consume {@link ApplicationEvent}s.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param method must not be {@literal null}.
+	 * @return
+	 */
+	private static Object[] resolveArguments(ApplicationEvent event, Method method) {
+
+		if (method.getParameterCount() == 0) {
+			return new Object[0];
+		}
+
+		Class<?> parameterType = method.getParameterTypes()[0];
+
+		if (!ApplicationEvent.class.isAssignableFrom(parameterType) && event instanceof PayloadApplicationEvent) {
+
+			Object payload = ((PayloadApplicationEvent<?>) event).getPayload();
+
+			if (parameterType.isInstance(payload)) {
+				return new Object[] { payload };
+			}
+		}
+
+		return new Object[] { event };
+	}
+
+	@Value
+	static class ConditionRootObject {
+
+		ApplicationEvent event;
+		Object[] args;
+	}
+}
@@ -17,16 +17,22 @@ package org.springframework.events.support;
 
 import lombok.Value;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.springframework.context.ApplicationListener;
 import org.springframework.events.CompletableEventPublication;
 import org.springframework.events.EventPublication;
 import org.springframework.events.EventPublicationRegistry;
 import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.util.Assert;
 
 /**
  * Map based {@link EventPublicationRegistry}, for testing purposes only.
@@ -36,6 +42,8 @@ import org.springframework.events.PublicationTargetIdentifier;
 public class MapEventPublicationRegistry implements EventPublicationRegistry {
 
 	private final Map<Key, CompletableEventPublication> events = new HashMap<>();
+	private final Map<UUID, CompletableEventPublication> eventsByIdentifier = new HashMap<>();
+	private final Map<UUID, Instant> leases = new HashMap<>();
 
 	/*
 	 * (non-Javadoc)
@@ -55,13 +63,29 @@ public class MapEventPublicationRegistry implements EventPublicationRegistry {
 	 * @see org.springframework.events.EventPublicationRegistry#store(java.lang.Object, java.util.Collection)
 	 */
 	@Override
-	public void store(Object event, Collection<ApplicationListener<?>> listeners) {
+	public Collection<EventPublication> store(Object event, Collection<ApplicationListener<?>> listeners) {
 
-		listeners.forEach(listener -> {
+		return listeners.stream() //
+				.map(PublicationTargetIdentifier::forListener) //
+				.map(id -> events.computeIfAbsent(Key.of(event, id), it -> CompletableEventPublication.of(event, id))) //
+				.peek(it -> eventsByIdentifier.put(it.getIdentifier(), it)) //
+				.collect(Collectors.toList());
+	}
 
-			PublicationTargetIdentifier id = PublicationTargetIdentifier.forListener(listener);
-			events.computeIfAbsent(Key.of(event, id), it -> CompletableEventPublication.of(event, id));
-		});
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#store(org.springframework.events.EventPublication)
+	 */
+	@Override
+	public void store(EventPublication publication) {
+
+		Assert.isInstanceOf(CompletableEventPublication.class, publication,
+				"Publication must be a CompletableEventPublication!");
+
+		CompletableEventPublication completable = (CompletableEventPublication) publication;
+
+		events.putIfAbsent(Key.of(completable.getEvent(), completable.getTargetIdentifier()), completable);
+		eventsByIdentifier.put(completable.getIdentifier(), completable);
 	}
 
 	/*
@@ -73,6 +97,59 @@ public class MapEventPublicationRegistry implements EventPublicationRegistry {
 		events.computeIfPresent(Key.of(event, id), (__, value) -> value.markCompleted());
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#markCompleted(java.util.UUID)
+	 */
+	@Override
+	public void markCompleted(UUID identifier) {
+		eventsByIdentifier.computeIfPresent(identifier, (__, value) -> value.markCompleted());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#deleteCompletedPublications(java.time.Instant, int, boolean)
+	 */
+	@Override
+	public int deleteCompletedPublications(Instant completedBefore, int limit, boolean archive) {
+
+		List<Key> keys = events.entrySet().stream() //
+				.filter(it -> it.getValue().getCompletionDate().filter(date -> date.isBefore(completedBefore)).isPresent()) //
+				.limit(limit) //
+				.map(Map.Entry::getKey) //
+				.collect(Collectors.toList());
+
+		keys.forEach(it -> {
+
+			UUID identifier = events.remove(it).getIdentifier();
+
+			eventsByIdentifier.remove(identifier);
+			leases.remove(identifier);
+		});
+
+		return keys.size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#claimIncompletePublications(java.lang.String, java.time.Duration, int)
+	 */
+	@Override
+	public synchronized List<EventPublication> claimIncompletePublications(String owner, Duration lease, int limit) {
+
+		Instant now = Instant.now();
+
+		List<EventPublication> claimed = StreamSupport.stream(findIncompletePublications().spliterator(), false) //
+				.filter(it -> !leases.getOrDefault(it.getIdentifier(), Instant.MIN).isAfter(now)) //
+				.sorted() //
+				.limit(limit) //
+				.collect(Collectors.toList());
+
+		claimed.forEach(it -> leases.put(it.getIdentifier(), now.plus(lease)));
+
+		return claimed;
+	}
+
 	@Value(staticConstructor = "of")
 	private static class Key {
 
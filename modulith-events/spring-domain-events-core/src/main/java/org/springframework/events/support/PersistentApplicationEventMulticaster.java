@@ -15,19 +15,26 @@
  */
 package org.springframework.events.support;
 
+import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
@@ -35,14 +42,22 @@ import org.springframework.context.PayloadApplicationEvent;
 import org.springframework.context.event.AbstractApplicationEventMulticaster;
 import org.springframework.context.event.ApplicationEventMulticaster;
 import org.springframework.context.event.ApplicationListenerMethodAdapter;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.core.ResolvableType;
-import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.events.CompletableEventPublication;
 import org.springframework.events.EventPublication;
 import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.NonPersistent;
+import org.springframework.events.PublicationFilter;
+import org.springframework.events.PublicationIdentifierGenerator;
 import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
-import org.springframework.util.ConcurrentReferenceHashMap;
-import org.springframework.util.ReflectionUtils;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
 /**
  * An {@link ApplicationEventMulticaster} to register {@link EventPublication}s in an {@link EventPublicationRegistry}
@@ -50,7 +65,7 @@ import org.springframework.util.ReflectionUtils;
  * schedule.
  * <p>
  * Republication is handled in {@link #afterSingletonsInstantiated()} inspecting the {@link EventPublicationRegistry}
- * for incomplete publications and
+ * for incomplete publications and re-invoking their target listeners via {@link #republish(EventPublication)}.
  *
  * @author Oliver Drotbohm
  * @see CompletionRegisteringBeanPostProcessor
@@ -60,15 +75,229 @@ import org.springframework.util.ReflectionUtils;
 public class PersistentApplicationEventMulticaster extends AbstractApplicationEventMulticaster
 		implements SmartInitializingSingleton {
 
+	private static final int DEFAULT_REPUBLICATION_CHUNK_SIZE = 100;
+	private static final Duration DEFAULT_CLAIM_LEASE = Duration.ofMinutes(5);
+
 	private final @NonNull Supplier<EventPublicationRegistry> registry;
 
-	private static final Map<Class<?>, Boolean> TX_EVENT_LISTENERS = new ConcurrentReferenceHashMap<>();
-	private static final Field LISTENER_METHOD_FIELD;
+	private int republicationChunkSize = DEFAULT_REPUBLICATION_CHUNK_SIZE;
+	private boolean republishOnStartup = true;
+	private boolean bufferPublications = false;
+	private PublicationIdentifierGenerator identifierGenerator = PublicationIdentifierGenerator.timeOrdered();
+	private @Nullable String claimOwner;
+	private Duration claimLease = DEFAULT_CLAIM_LEASE;
+	private int quarantineThreshold = 0;
+	private @Nullable Executor taskExecutor;
+	private ClassifiedApplicationListeners.Classifier classifier = new ClassifiedApplicationListeners.Classifier(
+			Collections.emptyList());
+	private @Nullable ClassLoader beanClassLoader;
+	private ListenerConditionEvaluator conditionEvaluator = new ListenerConditionEvaluator(null);
+
+	private final Map<ListenerCacheKey, ClassifiedApplicationListeners> listenerCache = new ConcurrentHashMap<>(64);
+	private final Object listenerIndexMonitor = new Object();
+	private volatile @Nullable Map<PublicationTargetIdentifier, ApplicationListener<?>> listenerIndex;
+
+	/**
+	 * Configures the number of incomplete {@link EventPublication}s to be loaded from the {@link EventPublicationRegistry}
+	 * at a time on republication. Defaults to {@value #DEFAULT_REPUBLICATION_CHUNK_SIZE}.
+	 *
+	 * @param republicationChunkSize must be greater than zero.
+	 */
+	public void setRepublicationChunkSize(int republicationChunkSize) {
+
+		Assert.isTrue(republicationChunkSize > 0, "Republication chunk size must be greater than zero!");
+
+		this.republicationChunkSize = republicationChunkSize;
+	}
+
+	/**
+	 * Configures whether to republish incomplete {@link EventPublication}s in {@link #afterSingletonsInstantiated()}.
+	 * Disable this in case republication is triggered differently, e.g. by a {@link BackgroundRepublisher}. Defaults to
+	 * {@literal true}.
+	 *
+	 * @param republishOnStartup
+	 */
+	public void setRepublishOnStartup(boolean republishOnStartup) {
+		this.republishOnStartup = republishOnStartup;
+	}
+
+	/**
+	 * Configures whether to collect the {@link EventPublication}s created during a transaction and store them in a single
+	 * batch right before the transaction commits instead of storing them on every event publication. Publications of
+	 * transactions rolled back before that are never stored. Requires an {@link EventPublicationRegistry} supporting
+	 * {@link EventPublicationRegistry#storeAll(Collection)}. Defaults to {@literal false}.
+	 *
+	 * @param bufferPublications
+	 * @see #setIdentifierGenerator(PublicationIdentifierGenerator)
+	 */
+	public void setBufferPublications(boolean bufferPublications) {
+		this.bufferPublications = bufferPublications;
+	}
+
+	/**
+	 * Configures the {@link PublicationIdentifierGenerator} to create the identifiers of buffered publications with.
+	 * Defaults to {@link PublicationIdentifierGenerator#timeOrdered()}.
+	 *
+	 * @param identifierGenerator must not be {@literal null}.
+	 * @see #setBufferPublications(boolean)
+	 */
+	public void setIdentifierGenerator(PublicationIdentifierGenerator identifierGenerator) {
+
+		Assert.notNull(identifierGenerator, "PublicationIdentifierGenerator must not be null!");
+
+		this.identifierGenerator = identifierGenerator;
+	}
+
+	/**
+	 * Configures the owner to claim incomplete {@link EventPublication}s for on republication. If set, incomplete
+	 * publications are claimed from the {@link EventPublicationRegistry} chunk by chunk instead of being paged through,
+	 * so that multiple application instances republishing at the same time partition the incomplete publications among
+	 * each other rather than each republishing all of them. Defaults to {@literal null}, i.e. not claiming publications.
+	 *
+	 * @param claimOwner an identifier unique to the application instance, can be {@literal null}.
+	 * @see EventPublicationRegistry#claimIncompletePublications(String, Duration, int)
+	 */
+	public void setClaimOwner(@Nullable String claimOwner) {
+		this.claimOwner = claimOwner;
+	}
+
+	/**
+	 * Configures the time claimed {@link EventPublication}s stay reserved for the claim owner. Publications that are still
+	 * incomplete once the lease has expired, e.g. because the listener failed or the application instance went away, can
+	 * be claimed again. Defaults to 5 minutes.
+	 *
+	 * @param claimLease must not be {@literal null}.
+	 * @see #setClaimOwner(String)
+	 */
+	public void setClaimLease(Duration claimLease) {
+
+		Assert.notNull(claimLease, "Claim lease must not be null!");
+		Assert.isTrue(!claimLease.isNegative() && !claimLease.isZero(), "Claim lease must be positive!");
+
+		this.claimLease = claimLease;
+	}
+
+	/**
+	 * Configures the number of failed republications after which an {@link EventPublication} is quarantined, i.e.
+	 * excluded from republication until it's requeued explicitly. Failures are recorded in any case. Defaults to zero,
+	 * i.e. never quarantining publications.
+	 *
+	 * @param quarantineThreshold must not be negative.
+	 * @see EventPublicationRegistry#registerFailure(UUID, String, int)
+	 * @see EventPublicationRegistry#requeueQuarantinedPublications()
+	 */
+	public void setQuarantineThreshold(int quarantineThreshold) {
+
+		Assert.isTrue(quarantineThreshold >= 0, "Quarantine threshold must not be negative!");
+
+		this.quarantineThreshold = quarantineThreshold;
+	}
+
+	/**
+	 * Configures the {@link Executor} to invoke {@link TransactionalEventListener}s for the
+	 * {@link TransactionPhase#AFTER_COMMIT} phase on, once the transaction the event was published in has committed.
+	 * Defaults to {@literal null}, i.e. invoking them on the thread that committed the transaction. Other listeners are
+	 * always invoked synchronously.
+	 *
+	 * @param taskExecutor can be {@literal null}.
+	 */
+	public void setTaskExecutor(@Nullable Executor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * Configures the {@link PublicationFilter}s to decide which {@link TransactionalEventListener}s require
+	 * {@link EventPublication}s to be stored, in addition to the ones opted out via {@link NonPersistent}. A publication
+	 * is only stored if all filters require it. Defaults to no filters.
+	 *
+	 * @param publicationFilters must not be {@literal null}.
+	 */
+	public void setPublicationFilters(List<PublicationFilter> publicationFilters) {
+
+		Assert.notNull(publicationFilters, "PublicationFilters must not be null!");
+
+		this.classifier = new ClassifiedApplicationListeners.Classifier(publicationFilters);
+
+		invalidateListenerCaches();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.event.AbstractApplicationEventMulticaster#setBeanClassLoader(java.lang.ClassLoader)
+	 */
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+
+		super.setBeanClassLoader(classLoader);
+
+		this.beanClassLoader = classLoader;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.event.AbstractApplicationEventMulticaster#setBeanFactory(org.springframework.beans.factory.BeanFactory)
+	 */
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) {
+
+		super.setBeanFactory(beanFactory);
+
+		this.conditionEvaluator = new ListenerConditionEvaluator(beanFactory);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.event.AbstractApplicationEventMulticaster#addApplicationListener(org.springframework.context.ApplicationListener)
+	 */
+	@Override
+	public void addApplicationListener(ApplicationListener<?> listener) {
+
+		super.addApplicationListener(listener);
+		invalidateListenerCaches();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.event.AbstractApplicationEventMulticaster#addApplicationListenerBean(java.lang.String)
+	 */
+	@Override
+	public void addApplicationListenerBean(String listenerBeanName) {
+
+		super.addApplicationListenerBean(listenerBeanName);
+		invalidateListenerCaches();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.event.AbstractApplicationEventMulticaster#removeApplicationListener(org.springframework.context.ApplicationListener)
+	 */
+	@Override
+	public void removeApplicationListener(ApplicationListener<?> listener) {
+
+		super.removeApplicationListener(listener);
+		invalidateListenerCaches();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.event.AbstractApplicationEventMulticaster#removeApplicationListenerBean(java.lang.String)
+	 */
+	@Override
+	public void removeApplicationListenerBean(String listenerBeanName) {
 
-	static {
+		super.removeApplicationListenerBean(listenerBeanName);
+		invalidateListenerCaches();
+	}
 
-		LISTENER_METHOD_FIELD = ReflectionUtils.findField(ApplicationListenerMethodAdapter.class, "method");
-		ReflectionUtils.makeAccessible(LISTENER_METHOD_FIELD);
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.event.AbstractApplicationEventMulticaster#removeAllListeners()
+	 */
+	@Override
+	public void removeAllListeners() {
+
+		super.removeAllListeners();
+		invalidateListenerCaches();
 	}
 
 	/*
@@ -95,20 +324,62 @@ public class PersistentApplicationEventMulticaster extends AbstractApplicationEv
 			return;
 		}
 
-		List<ApplicationListener<?>> transactionalListeners = listeners.stream() //
-				.filter(PersistentApplicationEventMulticaster::isTransactionalApplicationEventListener) //
-				.collect(Collectors.toList());
+		ClassifiedApplicationListeners classified = getClassifiedApplicationListeners(event, type, listeners);
+
+		// Only store publications for listeners that are going to be invoked as they'd never be completed otherwise
+		List<ApplicationListener<?>> transactionalListeners = classified.getTransactionalListeners(event,
+				conditionEvaluator);
 
-		if (!transactionalListeners.isEmpty()) {
+		Object eventToPersist = getEventToPersist(event);
+		Collection<EventPublication> publications = transactionalListeners.isEmpty() //
+				? Collections.emptyList() //
+				: storePublications(eventToPersist, transactionalListeners);
 
-			Object eventToPersist = getEventToPersist(event);
+		publications.forEach(it -> InFlightPublications.register(eventToPersist, it));
 
-			registry.get().store(eventToPersist, transactionalListeners);
+		try {
+
+			for (ApplicationListener listener : listeners) {
+
+				Optional<EventPublication> publication = taskExecutor == null //
+						? Optional.empty() //
+						: findPublicationToDispatchAsynchronously(listener, classified, publications);
+
+				if (publication.isPresent()) {
+					dispatchAfterCommit(event, publication.get(), (ApplicationListenerMethodAdapter) listener);
+				} else {
+					listener.onApplicationEvent(event);
+				}
+			}
+
+		} finally {
+			unregisterAfterCompletion(eventToPersist, publications);
 		}
+	}
+
+	/**
+	 * Stores the {@link EventPublication}s for the given event and listeners, or buffers them until the current
+	 * transaction commits if configured to.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param listeners must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @see #setBufferPublications(boolean)
+	 */
+	private Collection<EventPublication> storePublications(Object event, Collection<ApplicationListener<?>> listeners) {
 
-		for (ApplicationListener listener : listeners) {
-			listener.onApplicationEvent(event);
+		if (!bufferPublications || !TransactionalPublicationBuffer.isAvailable()) {
+			return registry.get().store(event, listeners);
 		}
+
+		List<EventPublication> publications = listeners.stream() //
+				.map(PublicationTargetIdentifier::forListener) //
+				.map(it -> CompletableEventPublication.of(event, it, identifierGenerator)) //
+				.collect(Collectors.toList());
+
+		TransactionalPublicationBuffer.add(this, registry.get(), publications);
+
+		return publications;
 	}
 
 	/*
@@ -118,61 +389,356 @@ public class PersistentApplicationEventMulticaster extends AbstractApplicationEv
 	@Override
 	public void afterSingletonsInstantiated() {
 
-		for (EventPublication publication : registry.get().findIncompletePublications()) {
-			invokeTargetListener(publication);
+		if (!republishOnStartup) {
+			return;
+		}
+
+		EventPublicationRegistry registry = this.registry.get();
+		List<EventPublication> publications = findIncompletePublications(registry, null, republicationChunkSize);
+
+		while (!publications.isEmpty()) {
+
+			publications.forEach(this::republish);
+
+			if (publications.size() < republicationChunkSize) {
+				return;
+			}
+
+			EventPublication last = publications.get(publications.size() - 1);
+			publications = findIncompletePublications(registry, last, republicationChunkSize);
 		}
 	}
 
+	/**
+	 * Returns the next chunk of incomplete {@link EventPublication}s to republish. Claims them for the configured claim
+	 * owner if one is configured, pages through all of them otherwise.
+	 *
+	 * @param registry must not be {@literal null}.
+	 * @param last the last publication of the previous chunk, {@literal null} to obtain the first chunk.
+	 * @param limit the maximum number of publications to return, must be greater than zero.
+	 * @return will never be {@literal null}.
+	 * @see #setClaimOwner(String)
+	 */
+	List<EventPublication> findIncompletePublications(EventPublicationRegistry registry,
+			@Nullable EventPublication last, int limit) {
+
+		// Claimed publications are excluded from subsequent claims, so there's no need to page
+		return claimOwner != null //
+				? registry.claimIncompletePublications(claimOwner, claimLease, limit) //
+				: registry.findIncompletePublications(last, limit);
+	}
+
+	/**
+	 * Re-invokes the listener the given {@link EventPublication} targets and marks the publication completed in case the
+	 * listener succeeds. Failures are logged and leave the publication incomplete.
+	 *
+	 * @param publication must not be {@literal null}.
+	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
-	private void invokeTargetListener(EventPublication publication) {
+	public void republish(EventPublication publication) {
 
-		for (ApplicationListener listener : getApplicationListeners()) {
+		Assert.notNull(publication, "EventPublication must not be null!");
 
-			if (publication.isIdentifiedBy(PublicationTargetIdentifier.forListener(listener))) {
+		ApplicationListener listener = getListenerIndex().get(publication.getTargetIdentifier());
 
-				executeListenerWithCompletion(publication, listener);
-				return;
+		if (listener == null) {
+
+			log.debug("Listener {} not found!", publication.getTargetIdentifier());
+			return;
+		}
+
+		executeListenerWithCompletion(publication, listener);
+	}
+
+	/**
+	 * Returns whether a publication is stored for the listener with the given {@link PublicationTargetIdentifier} and
+	 * event type, using the same cached decision that publishing an event uses. Listeners not known to the current
+	 * instance are considered to require publications.
+	 *
+	 * @param identifier must not be {@literal null}.
+	 * @param eventType the type of the event, i.e. its payload type if it's not an {@link ApplicationEvent}, must not be
+	 *          {@literal null}.
+	 * @return
+	 * @see PublicationFilter
+	 */
+	boolean requiresPublication(PublicationTargetIdentifier identifier, Class<?> eventType) {
+
+		Assert.notNull(identifier, "PublicationTargetIdentifier must not be null!");
+		Assert.notNull(eventType, "Event type must not be null!");
+
+		ApplicationListener<?> listener = getListenerIndex().get(identifier);
+
+		return listener == null || classifier.requiresPublication(listener, eventType);
+	}
+
+	/**
+	 * Returns the index of all listeners {@link PublicationTargetIdentifier}s can be created for by their identifier.
+	 * Built on first access and whenever listeners have been added or removed since.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	private Map<PublicationTargetIdentifier, ApplicationListener<?>> getListenerIndex() {
+
+		Map<PublicationTargetIdentifier, ApplicationListener<?>> index = this.listenerIndex;
+
+		if (index != null) {
+			return index;
+		}
+
+		synchronized (listenerIndexMonitor) {
+
+			if (this.listenerIndex == null) {
+
+				Map<PublicationTargetIdentifier, ApplicationListener<?>> result = new HashMap<>();
+
+				for (ApplicationListener<?> listener : getApplicationListeners()) {
+					if (listener instanceof ApplicationListenerMethodAdapter) {
+						result.putIfAbsent(PublicationTargetIdentifier.forListener(listener), listener);
+					}
+				}
+
+				this.listenerIndex = result;
 			}
+
+			return this.listenerIndex;
 		}
+	}
+
+	private void invalidateListenerCaches() {
+
+		listenerCache.clear();
+		classifier.clear();
 
-		log.debug("Listener {} not found!", publication.getTargetIdentifier());
+		synchronized (listenerIndexMonitor) {
+			this.listenerIndex = null;
+		}
 	}
 
+	/**
+	 * Invokes the given listener for the given {@link EventPublication}. Listener methods are invoked directly as Spring's
+	 * transactional adapter would skip them without a transaction running, which is usually the case on republication.
+	 *
+	 * @param publication must not be {@literal null}.
+	 * @param listener must not be {@literal null}.
+	 */
 	private void executeListenerWithCompletion(EventPublication publication,
 			ApplicationListener<ApplicationEvent> listener) {
 
+		ApplicationEvent event = publication.getApplicationEvent();
+		Runnable invocation = listener instanceof ApplicationListenerMethodAdapter //
+				? () -> ((ApplicationListenerMethodAdapter) listener).processEvent(event) //
+				: () -> listener.onApplicationEvent(event);
+
+		executeWithCompletion(publication, event, invocation);
+	}
+
+	/**
+	 * Runs the given listener invocation for the given {@link EventPublication} and event. The publication is usually
+	 * completed by the {@link CompletionRegisteringBeanPostProcessor} consuming it from the ones in flight already, so
+	 * that it's only completed here if the listener isn't proxied by it.
+	 *
+	 * @param publication must not be {@literal null}.
+	 * @param event must not be {@literal null}.
+	 * @param invocation must not be {@literal null}.
+	 */
+	private void executeWithCompletion(EventPublication publication, ApplicationEvent event, Runnable invocation) {
+
+		Object payload = getEventToPersist(event);
+
+		InFlightPublications.register(payload, publication);
+
 		try {
 
-			listener.onApplicationEvent(publication.getApplicationEvent());
-			registry.get().markCompleted(publication);
+			invocation.run();
 
-		} catch (Exception e) {
+			if (InFlightPublications.unregister(payload, publication)) {
+				registry.get().markCompleted(publication);
+			}
+
+		} catch (Exception o_O) {
 
-			log.debug("Publication {} not completed due to exception {}.", publication.getTargetIdentifier(), e.getMessage());
-			// Log
+			log.debug("Publication {} not completed due to exception {}.", publication.getTargetIdentifier(),
+					o_O.getMessage());
+			registerFailure(publication, o_O);
+
+		} finally {
+			InFlightPublications.unregister(payload, publication);
 		}
 	}
 
-	private static boolean isTransactionalApplicationEventListener(ApplicationListener<?> listener) {
+	/**
+	 * Records the given failure of the given {@link EventPublication}'s listener, quarantining the publication in case
+	 * the configured threshold is reached. Failing to do so only results in the publication being republished as usual.
+	 *
+	 * @param publication must not be {@literal null}.
+	 * @param failure must not be {@literal null}.
+	 */
+	private void registerFailure(EventPublication publication, Exception failure) {
 
-		Class<?> targetClass = AopUtils.getTargetClass(listener);
+		String description = NestedExceptionUtils.getMostSpecificCause(failure).toString();
 
-		return TX_EVENT_LISTENERS.computeIfAbsent(targetClass, it -> {
+		boolean quarantined;
+
+		try {
+			quarantined = registry.get().registerFailure(publication.getIdentifier(), description, quarantineThreshold);
+		} catch (RuntimeException o_O) {
+			log.warn("Registering failure of publication {} failed!", publication.getIdentifier(), o_O);
+			return;
+		}
+
+		// The in-memory failure count is stale in case other instances failed to process the publication as well
+		if (quarantined) {
+			log.warn("Quarantining publication {} to {} after repeated failures, last one: {}.",
+					publication.getIdentifier(), publication.getTargetIdentifier(), description);
+		}
+	}
+
+	/**
+	 * Returns the {@link EventPublication} for the given listener in case it can be invoked asynchronously, i.e. it's an
+	 * {@link TransactionPhase#AFTER_COMMIT} listener and there's a transaction running to wait for.
+	 *
+	 * @param listener must not be {@literal null}.
+	 * @param classified must not be {@literal null}.
+	 * @param publications must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	private static Optional<EventPublication> findPublicationToDispatchAsynchronously(ApplicationListener<?> listener,
+			ClassifiedApplicationListeners classified, Collection<EventPublication> publications) {
 
-			if (!ApplicationListenerMethodAdapter.class.isAssignableFrom(targetClass)) {
-				return false;
+		PublicationTargetIdentifier identifier = classified.getAfterCommitListenerIdentifier(listener);
+
+		if (identifier == null //
+				|| publications.isEmpty() //
+				|| !TransactionSynchronizationManager.isSynchronizationActive()) {
+			return Optional.empty();
+		}
+
+		return publications.stream() //
+				.filter(it -> it.isIdentifiedBy(identifier)) //
+				.findFirst();
+	}
+
+	/**
+	 * Hands the invocation of the given listener to the configured {@link Executor} once the current transaction has
+	 * committed. The listener is invoked directly as Spring's transactional adapter would skip it on a thread without a
+	 * transaction. A failed or rejected invocation leaves the publication incomplete, so that it's republished later.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param publication must not be {@literal null}.
+	 * @param listener must not be {@literal null}.
+	 */
+	private void dispatchAfterCommit(ApplicationEvent event, EventPublication publication,
+			ApplicationListenerMethodAdapter listener) {
+
+		Executor executor = this.taskExecutor;
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+			/*
+			 * (non-Javadoc)
+			 * @see org.springframework.transaction.support.TransactionSynchronizationAdapter#getOrder()
+			 */
+			@Override
+			public int getOrder() {
+				return listener.getOrder();
 			}
 
-			Method method = (Method) ReflectionUtils.getField(LISTENER_METHOD_FIELD, listener);
+			/*
+			 * (non-Javadoc)
+			 * @see org.springframework.transaction.support.TransactionSynchronizationAdapter#afterCommit()
+			 */
+			@Override
+			public void afterCommit() {
+
+				try {
+					executor.execute(() -> executeWithCompletion(publication, event, () -> listener.processEvent(event)));
+				} catch (RejectedExecutionException o_O) {
+					log.warn("Asynchronous invocation of {} rejected! Publication will be republished.",
+							publication.getTargetIdentifier());
+				}
+			}
+		});
+	}
 
-			return AnnotatedElementUtils.hasAnnotation(method, TransactionalEventListener.class);
+	/**
+	 * Removes the given {@link EventPublication}s from the ones in flight once the current transaction has completed, or
+	 * immediately in case there's no transaction running and all listeners have thus already been invoked.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param publications must not be {@literal null}.
+	 */
+	private static void unregisterAfterCompletion(Object event, Collection<EventPublication> publications) {
+
+		if (publications.isEmpty()) {
+			return;
+		}
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			publications.forEach(it -> InFlightPublications.unregister(event, it));
+			return;
+		}
+
+		// Registered after the listeners so that it's invoked after the ones triggering the listener invocations
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+			/*
+			 * (non-Javadoc)
+			 * @see org.springframework.transaction.support.TransactionSynchronizationAdapter#afterCompletion(int)
+			 */
+			@Override
+			public void afterCompletion(int status) {
+				publications.forEach(it -> InFlightPublications.unregister(event, it));
+			}
 		});
 	}
 
+	/**
+	 * Returns the {@link ClassifiedApplicationListeners} for the given event, type and listeners as resolved by
+	 * {@link #getApplicationListeners(ApplicationEvent, ResolvableType)}. The result is cached per event and source type
+	 * if the types are cache-safe, but only reused for exactly the same listener instances, so that scoped and prototype
+	 * listeners are classified again. The classification of the individual listeners is cached by the
+	 * {@link ClassifiedApplicationListeners.Classifier} in any case.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param eventType must not be {@literal null}.
+	 * @param listeners must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	private ClassifiedApplicationListeners getClassifiedApplicationListeners(ApplicationEvent event,
+			ResolvableType eventType, Collection<ApplicationListener<?>> listeners) {
+
+		Object source = event.getSource();
+		Class<?> sourceType = source == null ? null : source.getClass();
+		ListenerCacheKey key = new ListenerCacheKey(eventType, sourceType);
+
+		ClassifiedApplicationListeners classified = listenerCache.get(key);
+
+		if (classified != null && classified.isClassificationOf(listeners)) {
+			return classified;
+		}
+
+		classified = classifier.classify(listeners, getEventToPersist(event).getClass());
+
+		if (beanClassLoader == null || ClassUtils.isCacheSafe(event.getClass(), beanClassLoader)
+				&& (sourceType == null || ClassUtils.isCacheSafe(sourceType, beanClassLoader))) {
+			listenerCache.put(key, classified);
+		}
+
+		return classified;
+	}
+
 	private static Object getEventToPersist(ApplicationEvent event) {
 
 		return PayloadApplicationEvent.class.isInstance(event) //
 				? ((PayloadApplicationEvent<?>) event).getPayload() //
 				: event;
 	}
+
+	@EqualsAndHashCode
+	@RequiredArgsConstructor
+	private static class ListenerCacheKey {
+
+		private final ResolvableType eventType;
+		private final @Nullable Class<?> sourceType;
+	}
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.events.EventPublication;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.Assert;
+
+/**
+ * Periodically republishes incomplete publications that are due. A publication becomes due for its first republication
+ * once it's older than a configurable threshold and for every further one once the backoff registered with the previous
+ * attempt has elapsed. Every attempt is registered with the {@link EventPublicationRegistry} before the listener is
+ * invoked, deferring the next one by an exponentially growing, jittered backoff, so that a failing listener isn't
+ * invoked over and over again and publications of listeners failing at the same time don't get republished in lockstep.
+ *
+ * @author Oliver Drotbohm
+ * @see EventPublicationRegistry#findDuePublications(Instant, Duration, int)
+ * @see EventPublicationRegistry#registerAttempt(UUID, Instant)
+ */
+@Slf4j
+public class ScheduledRepublisher implements SmartLifecycle {
+
+	private static final int MAX_BACKOFF_DOUBLINGS = 30;
+
+	private final Supplier<EventPublicationRegistry> registry;
+	private final PersistentApplicationEventMulticaster multicaster;
+	private final TaskScheduler scheduler;
+	private final Duration interval, threshold, initialBackoff, maxBackoff;
+	private final int batchSize;
+	private final Object lifecycleMonitor = new Object();
+
+	private volatile @Nullable ScheduledFuture<?> republications;
+
+	/**
+	 * Creates a new {@link ScheduledRepublisher}.
+	 *
+	 * @param registry must not be {@literal null}.
+	 * @param multicaster must not be {@literal null}.
+	 * @param scheduler the {@link TaskScheduler} to look for due publications on, must not be {@literal null}.
+	 * @param interval the interval to look for due publications in, must not be {@literal null}.
+	 * @param threshold the minimum age of a publication before its first republication, must not be {@literal null} or
+	 *          negative.
+	 * @param initialBackoff the time to defer the next attempt by after the first one, must not be {@literal null}.
+	 * @param maxBackoff the maximum time to defer the next attempt by, must not be {@literal null} or less than the
+	 *          initial backoff.
+	 * @param batchSize the maximum number of publications to republish per run, must be greater than zero.
+	 */
+	public ScheduledRepublisher(Supplier<EventPublicationRegistry> registry,
+			PersistentApplicationEventMulticaster multicaster, TaskScheduler scheduler, Duration interval, Duration threshold,
+			Duration initialBackoff, Duration maxBackoff, int batchSize) {
+
+		Assert.notNull(registry, "EventPublicationRegistry must not be null!");
+		Assert.notNull(multicaster, "PersistentApplicationEventMulticaster must not be null!");
+		Assert.notNull(scheduler, "TaskScheduler must not be null!");
+		Assert.notNull(interval, "Interval must not be null!");
+		Assert.isTrue(!interval.isNegative() && !interval.isZero(), "Interval must be positive!");
+		Assert.notNull(threshold, "Threshold must not be null!");
+		Assert.isTrue(!threshold.isNegative(), "Threshold must not be negative!");
+		Assert.notNull(initialBackoff, "Initial backoff must not be null!");
+		Assert.isTrue(!initialBackoff.isNegative() && !initialBackoff.isZero(), "Initial backoff must be positive!");
+		Assert.notNull(maxBackoff, "Maximum backoff must not be null!");
+		Assert.isTrue(maxBackoff.compareTo(initialBackoff) >= 0, "Maximum backoff must not be less than initial backoff!");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+
+		this.registry = registry;
+		this.multicaster = multicaster;
+		this.scheduler = scheduler;
+		this.interval = interval;
+		this.threshold = threshold;
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = maxBackoff;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Republishes up to the configured batch size of due publications, i.e. ones that haven't been attempted yet and are
+	 * older than the configured threshold and ones whose backoff has elapsed.
+	 *
+	 * @return the number of publications republished.
+	 */
+	public int republishDuePublications() {
+
+		Instant now = Instant.now();
+		EventPublicationRegistry registry = this.registry.get();
+		List<EventPublication> publications = registry.findDuePublications(now, threshold, batchSize);
+
+		for (EventPublication publication : publications) {
+
+			int attempt = publication.getAttemptCount() + 1;
+
+			// Registered upfront so that the backoff also applies if the application fails during the invocation
+			registry.registerAttempt(publication.getIdentifier(), now.plus(getBackoff(attempt)));
+
+			log.debug("Republishing publication {} (attempt {}).", publication.getIdentifier(), attempt);
+
+			multicaster.republish(publication);
+		}
+
+		if (!publications.isEmpty()) {
+			log.info("Republished {} due publications.", publications.size());
+		}
+
+		return publications.size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#start()
+	 */
+	@Override
+	public void start() {
+
+		synchronized (lifecycleMonitor) {
+
+			if (republications == null) {
+				this.republications = scheduler.scheduleWithFixedDelay(this::republishSafely, Instant.now().plus(interval),
+						interval);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#stop()
+	 */
+	@Override
+	public void stop() {
+
+		synchronized (lifecycleMonitor) {
+
+			if (republications != null) {
+				republications.cancel(false);
+				this.republications = null;
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#isRunning()
+	 */
+	@Override
+	public boolean isRunning() {
+		return republications != null;
+	}
+
+	/**
+	 * Returns the time to defer the attempt following the given one by. Doubles the initial backoff with every attempt up
+	 * to the maximum backoff and randomly picks a value between half of that and the full value.
+	 *
+	 * @param attempt the number of the attempt, starting at 1.
+	 * @return will never be {@literal null}.
+	 */
+	Duration getBackoff(int attempt) {
+
+		long initial = initialBackoff.toMillis(), max = maxBackoff.toMillis();
+		int doublings = Math.min(Math.max(attempt - 1, 0), MAX_BACKOFF_DOUBLINGS);
+
+		// Compared against the shifted maximum to avoid overflowing
+		long backoff = initial > (max >> doublings) ? max : initial << doublings;
+		long half = backoff / 2;
+
+		return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(backoff - half + 1));
+	}
+
+	private void republishSafely() {
+
+		try {
+			republishDuePublications();
+		} catch (RuntimeException o_O) {
+			log.warn("Republishing due publications failed!", o_O);
+		}
+	}
+}
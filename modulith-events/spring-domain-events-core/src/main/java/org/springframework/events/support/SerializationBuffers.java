@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.events.EventSerializer;
+import org.springframework.events.StreamingEventSerializer;
+import org.springframework.util.Assert;
+
+/**
+ * Serializes events using pooled, per-thread buffers for {@link StreamingEventSerializer}s, so that serializing an
+ * event only allocates the resulting byte array or {@link String} rather than growing a fresh buffer for every event. Buffers that have
+ * grown beyond {@value #MAX_RETAINED_CAPACITY} bytes are not retained to not keep exceptionally large events' memory
+ * around.
+ *
+ * @author Oliver Drotbohm
+ * @see StreamingEventSerializer
+ */
+public class SerializationBuffers {
+
+	static final int INITIAL_CAPACITY = 8 * 1024;
+	static final int MAX_RETAINED_CAPACITY = 256 * 1024;
+
+	private static final ThreadLocal<Buffer> BUFFERS = ThreadLocal.withInitial(Buffer::new);
+
+	private SerializationBuffers() {}
+
+	/**
+	 * Serializes the given event using the given {@link EventSerializer}. {@link StreamingEventSerializer}s write into a
+	 * pooled buffer and the event is returned as byte array or, for ones writing text, as {@link String} decoded from
+	 * the buffer. All others are simply invoked.
+	 *
+	 * @param serializer must not be {@literal null}.
+	 * @param event must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public static Object serialize(EventSerializer serializer, Object event) {
+
+		Assert.notNull(serializer, "EventSerializer must not be null!");
+		Assert.notNull(event, "Event must not be null!");
+
+		if (!(serializer instanceof StreamingEventSerializer)) {
+			return serializer.serialize(event);
+		}
+
+		Buffer buffer = BUFFERS.get();
+
+		// Serializers (re-)entering serialization, e.g. by publishing events themselves, get a fresh buffer
+		if (buffer.inUse) {
+			buffer = new Buffer();
+		}
+
+		buffer.inUse = true;
+
+		try {
+
+			StreamingEventSerializer streaming = (StreamingEventSerializer) serializer;
+			streaming.serialize(event, buffer);
+
+			return streaming.isBinary() ? buffer.toByteArray() : buffer.toText();
+
+		} catch (IOException o_O) {
+			throw new UncheckedIOException(o_O);
+		} finally {
+			release(buffer);
+		}
+	}
+
+	/**
+	 * Returns the capacity of the buffer pooled for the current thread.
+	 *
+	 * @return
+	 */
+	static int getPooledCapacity() {
+		return BUFFERS.get().capacity();
+	}
+
+	private static void release(Buffer buffer) {
+
+		buffer.reset();
+		buffer.inUse = false;
+
+		if (buffer.capacity() > MAX_RETAINED_CAPACITY && BUFFERS.get() == buffer) {
+			BUFFERS.remove();
+		}
+	}
+
+	private static class Buffer extends ByteArrayOutputStream {
+
+		boolean inUse;
+
+		Buffer() {
+			super(INITIAL_CAPACITY);
+		}
+
+		int capacity() {
+			return buf.length;
+		}
+
+		String toText() {
+			return new String(buf, 0, count, StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.springframework.events.EventSerializer;
+import org.springframework.util.Assert;
+
+/**
+ * Calculates a fixed-width digest of a serialized event so that registries can look up publications by an indexed
+ * column rather than by comparing the potentially large serialized event itself.
+ *
+ * @author Oliver Drotbohm
+ * @see EventSerializer#serialize(Object)
+ */
+public class SerializedEventDigest {
+
+	/**
+	 * The length of the digests calculated, i.e. the hex representation of a SHA-256 hash.
+	 */
+	public static final int LENGTH = 64;
+
+	private static final String ALGORITHM = "SHA-256";
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+	private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal
+			.withInitial(SerializedEventDigest::getMessageDigest);
+
+	private SerializedEventDigest() {}
+
+	/**
+	 * Returns the hex encoded SHA-256 digest of the given serialized event. Binary serialized events, i.e. byte arrays,
+	 * are digested as is, all others via the UTF-8 encoded bytes of their {@link Object#toString()} representation.
+	 *
+	 * @param serializedEvent must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public static String of(Object serializedEvent) {
+
+		Assert.notNull(serializedEvent, "Serialized event must not be null!");
+
+		byte[] bytes = serializedEvent instanceof byte[] //
+				? (byte[]) serializedEvent //
+				: serializedEvent.toString().getBytes(StandardCharsets.UTF_8);
+		byte[] digest = DIGESTS.get().digest(bytes);
+		char[] result = new char[digest.length * 2];
+
+		for (int i = 0; i < digest.length; i++) {
+			result[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+			result[i * 2 + 1] = HEX[digest[i] & 0xF];
+		}
+
+		return new String(result);
+	}
+
+	private static MessageDigest getMessageDigest() {
+
+		try {
+			return MessageDigest.getInstance(ALGORITHM);
+		} catch (NoSuchAlgorithmException o_O) {
+			throw new IllegalStateException(String.format("%s not supported!", ALGORITHM), o_O);
+		}
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.core.Ordered;
+import org.springframework.events.EventPublication;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * Collects the {@link EventPublication}s created during a transaction to store them in a single batch right before the
+ * transaction commits. Publications added once the buffer has been flushed, e.g. by listeners invoked before commit
+ * publishing further events, are stored right away. The publications of a transaction rolled back before the flush
+ * are discarded without touching the {@link EventPublicationRegistry} at all.
+ *
+ * @author Oliver Drotbohm
+ * @see EventPublicationRegistry#storeAll(Collection)
+ */
+@Slf4j
+@RequiredArgsConstructor
+class TransactionalPublicationBuffer extends TransactionSynchronizationAdapter {
+
+	private final EventPublicationRegistry registry;
+	private final Object key;
+	private final List<EventPublication> publications = new ArrayList<>();
+
+	private boolean flushed = false;
+
+	/**
+	 * Returns whether publications can be buffered, i.e. whether a transaction is running and accepts
+	 * {@link TransactionSynchronization}s.
+	 *
+	 * @return
+	 */
+	static boolean isAvailable() {
+		return TransactionSynchronizationManager.isSynchronizationActive()
+				&& TransactionSynchronizationManager.isActualTransactionActive();
+	}
+
+	/**
+	 * Adds the given {@link EventPublication}s to the buffer bound to the current transaction under the given key,
+	 * creating and registering the buffer if necessary.
+	 *
+	 * @param key must not be {@literal null}.
+	 * @param registry must not be {@literal null}.
+	 * @param publications must not be {@literal null}.
+	 */
+	static void add(Object key, EventPublicationRegistry registry, Collection<EventPublication> publications) {
+
+		Assert.notNull(key, "Key must not be null!");
+		Assert.notNull(registry, "EventPublicationRegistry must not be null!");
+		Assert.notNull(publications, "Publications must not be null!");
+		Assert.state(isAvailable(), "No transaction running to buffer publications for!");
+
+		TransactionalPublicationBuffer buffer = (TransactionalPublicationBuffer) TransactionSynchronizationManager
+				.getResource(key);
+
+		if (buffer == null) {
+
+			buffer = new TransactionalPublicationBuffer(registry, key);
+
+			TransactionSynchronizationManager.bindResource(key, buffer);
+			TransactionSynchronizationManager.registerSynchronization(buffer);
+		}
+
+		buffer.add(publications);
+	}
+
+	private void add(Collection<EventPublication> publications) {
+
+		if (flushed) {
+			registry.storeAll(publications);
+		} else {
+			this.publications.addAll(publications);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.transaction.support.TransactionSynchronizationAdapter#getOrder()
+	 */
+	@Override
+	public int getOrder() {
+
+		// Flushed before the listeners for the before commit phase are invoked
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.transaction.support.TransactionSynchronizationAdapter#suspend()
+	 */
+	@Override
+	public void suspend() {
+		TransactionSynchronizationManager.unbindResource(key);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.transaction.support.TransactionSynchronizationAdapter#resume()
+	 */
+	@Override
+	public void resume() {
+		TransactionSynchronizationManager.bindResource(key, this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.transaction.support.TransactionSynchronizationAdapter#beforeCommit(boolean)
+	 */
+	@Override
+	public void beforeCommit(boolean readOnly) {
+
+		flushed = true;
+
+		if (publications.isEmpty()) {
+			return;
+		}
+
+		List<EventPublication> buffered = new ArrayList<>(publications);
+		publications.clear();
+
+		log.debug("Storing {} buffered publications.", buffered.size());
+
+		registry.storeAll(buffered);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.transaction.support.TransactionSynchronizationAdapter#afterCompletion(int)
+	 */
+	@Override
+	public void afterCompletion(int status) {
+
+		TransactionSynchronizationManager.unbindResourceIfPossible(key);
+
+		if (!publications.isEmpty()) {
+			log.debug("Discarding {} buffered publications of a transaction not committed.", publications.size());
+		}
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the default methods of {@link EventPublicationRegistry}.
+ *
+ * @author Oliver Drotbohm
+ */
+class EventPublicationRegistryUnitTest {
+
+	EventPublicationRegistry registry = mock(EventPublicationRegistry.class, CALLS_REAL_METHODS);
+
+	@Test
+	void storesCreatedPublicationsOneByOneByDefault() {
+
+		EventPublication first = CompletableEventPublication.of(new Object(), PublicationTargetIdentifier.of("first"));
+		EventPublication second = CompletableEventPublication.of(new Object(), PublicationTargetIdentifier.of("second"));
+
+		doNothing().when(registry).store(any(EventPublication.class));
+
+		registry.storeAll(Arrays.asList(first, second));
+
+		verify(registry).store(first);
+		verify(registry).store(second);
+	}
+
+	@Test
+	void claimsFirstChunkOfIncompletePublicationsByDefault() {
+
+		List<EventPublication> publications = Collections
+				.singletonList(CompletableEventPublication.of(new Object(), PublicationTargetIdentifier.of("first")));
+
+		doReturn(publications).when(registry).findIncompletePublications(null, 10);
+
+		assertThat(registry.claimIncompletePublications("owner", Duration.ofMinutes(1), 10)).isEqualTo(publications);
+	}
+}
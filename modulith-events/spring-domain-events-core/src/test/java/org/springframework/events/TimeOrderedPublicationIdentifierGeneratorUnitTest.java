@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TimeOrderedPublicationIdentifierGenerator}.
+ *
+ * @author Oliver Drotbohm
+ */
+class TimeOrderedPublicationIdentifierGeneratorUnitTest {
+
+	PublicationIdentifierGenerator generator = PublicationIdentifierGenerator.timeOrdered();
+
+	@Test
+	void createsVersionSevenIdentifiers() {
+
+		UUID identifier = generator.generate();
+
+		assertThat(identifier.version()).isEqualTo(7);
+		assertThat(identifier.variant()).isEqualTo(2);
+	}
+
+	@Test
+	void prefixesIdentifiersWithCurrentTimestamp() {
+
+		long before = System.currentTimeMillis();
+		UUID identifier = generator.generate();
+
+		assertThat(identifier.getMostSignificantBits() >>> 16).isGreaterThanOrEqualTo(before);
+	}
+
+	@Test
+	void createsMonotonicallyIncreasingIdentifiers() {
+
+		List<UUID> identifiers = new ArrayList<>();
+
+		for (int i = 0; i < 10_000; i++) {
+			identifiers.add(generator.generate());
+		}
+
+		assertThat(identifiers).isSorted().doesNotHaveDuplicates();
+	}
+}
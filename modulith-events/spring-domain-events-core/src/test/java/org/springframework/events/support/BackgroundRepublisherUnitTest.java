@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.events.EventPublication;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Unit tests for {@link BackgroundRepublisher}.
+ *
+ * @author Oliver Drotbohm
+ */
+class BackgroundRepublisherUnitTest {
+
+	EventPublicationRegistry registry = mock(EventPublicationRegistry.class);
+	PersistentApplicationEventMulticaster multicaster = mock(PersistentApplicationEventMulticaster.class);
+	ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+	BackgroundRepublisher republisher = new BackgroundRepublisher(() -> registry, multicaster, scheduler, 2, 0,
+			Duration.ZERO);
+
+	@BeforeEach
+	void setUp() {
+
+		scheduler.initialize();
+		republisher.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+
+		republisher.stop();
+		scheduler.shutdown();
+	}
+
+	@Test
+	void republishesAllIncompletePublications() {
+
+		EventPublication first = mock(EventPublication.class), second = mock(EventPublication.class);
+
+		doReturn(Arrays.asList(first, second)).when(registry).findIncompletePublications(isNull(), anyInt());
+		doCallRealMethod().when(multicaster).findIncompletePublications(any(), any(), anyInt());
+
+		assertThat(republisher.republish()).isEqualTo(2);
+
+		verify(multicaster).republish(first);
+		verify(multicaster).republish(second);
+	}
+
+	@Test
+	void startsOnRefreshOfItsOwnContextWithoutSpringBoot() {
+
+		ApplicationContext context = mock(ApplicationContext.class);
+
+		doReturn(Collections.emptyList()).when(registry).findIncompletePublications(isNull(), anyInt());
+		doCallRealMethod().when(multicaster).findIncompletePublications(any(), any(), anyInt());
+
+		republisher.setApplicationContext(context);
+
+		assertThat(republisher.supportsEventType(ContextRefreshedEvent.class)).isTrue();
+		assertThat(republisher.supportsEventType(ContextClosedEvent.class)).isFalse();
+
+		republisher.onApplicationEvent(new ContextRefreshedEvent(mock(ApplicationContext.class)));
+
+		verify(registry, never()).findIncompletePublications(any(), anyInt());
+
+		republisher.onApplicationEvent(new ContextRefreshedEvent(context));
+
+		verify(registry, timeout(1000)).findIncompletePublications(isNull(), anyInt());
+	}
+}
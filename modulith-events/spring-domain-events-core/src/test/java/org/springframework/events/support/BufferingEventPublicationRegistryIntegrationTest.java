@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.config.EnablePersistentDomainEvents;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Integration tests for {@link BufferingEventPublicationRegistry} being managed by an application context.
+ *
+ * @author Oliver Drotbohm
+ */
+class BufferingEventPublicationRegistryIntegrationTest {
+
+	AnnotationConfigApplicationContext context;
+
+	@BeforeEach
+	void setUp() {
+
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("events.completion.buffered", "true");
+		properties.put("events.completion.flush-interval-millis", "3600000");
+
+		this.context = new AnnotationConfigApplicationContext();
+		this.context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", properties));
+		this.context.register(TestConfiguration.class);
+		this.context.refresh();
+	}
+
+	@AfterEach
+	void tearDown() {
+		context.close();
+	}
+
+	@Test
+	void exposesBufferingRegistryAsPrimaryRegistry() {
+		assertThat(context.getBean(EventPublicationRegistry.class)).isInstanceOf(BufferingEventPublicationRegistry.class);
+	}
+
+	@Test
+	void flushesBufferedCompletionsOnContextClose() {
+
+		EventPublicationRegistry delegate = context.getBean("eventPublicationRegistry", EventPublicationRegistry.class);
+		UUID identifier = UUID.randomUUID();
+
+		context.getBean(EventPublicationRegistry.class).markCompleted(identifier);
+
+		verify(delegate, never()).markCompleted(anyCollection());
+
+		context.close();
+
+		verify(delegate).markCompleted(Collections.singletonList(identifier));
+	}
+
+	@Test
+	void shutsDownSharedSchedulerOnContextClose() {
+
+		ThreadPoolTaskScheduler scheduler = context.getBean("eventPublicationTaskScheduler",
+				ThreadPoolTaskScheduler.class);
+
+		context.close();
+
+		assertThat(scheduler.getScheduledExecutor().isShutdown()).isTrue();
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnablePersistentDomainEvents
+	static class TestConfiguration {
+
+		@Bean
+		EventPublicationRegistry eventPublicationRegistry() {
+			return mock(EventPublicationRegistry.class);
+		}
+	}
+}
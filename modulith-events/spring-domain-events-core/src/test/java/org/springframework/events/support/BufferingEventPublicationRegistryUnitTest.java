@@ -0,0 +1,136 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Unit tests for {@link BufferingEventPublicationRegistry}.
+ *
+ * @author Oliver Drotbohm
+ */
+class BufferingEventPublicationRegistryUnitTest {
+
+	EventPublicationRegistry delegate = mock(EventPublicationRegistry.class);
+	ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+	BufferingEventPublicationRegistry registry = new BufferingEventPublicationRegistry(() -> delegate, scheduler, 2, 3,
+			Duration.ofHours(1));
+
+	@BeforeEach
+	void setUp() {
+
+		scheduler.initialize();
+		registry.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+
+		registry.stop();
+		scheduler.shutdown();
+	}
+
+	@Test
+	void flushesCompletionsOnceBatchSizeIsReached() {
+
+		UUID first = UUID.randomUUID(), second = UUID.randomUUID();
+
+		registry.markCompleted(first);
+
+		verify(delegate, never()).markCompleted(anyCollection());
+
+		registry.markCompleted(second);
+
+		verify(delegate, timeout(1000)).markCompleted(Arrays.asList(first, second));
+	}
+
+	@Test
+	void flushesBufferedCompletionsOnStop() {
+
+		UUID identifier = UUID.randomUUID();
+
+		registry.markCompleted(identifier);
+		registry.stop();
+
+		verify(delegate).markCompleted(Arrays.asList(identifier));
+	}
+
+	@Test
+	void completesDirectlyIfStopped() {
+
+		UUID identifier = UUID.randomUUID();
+
+		registry.stop();
+		registry.markCompleted(identifier);
+
+		verify(delegate).markCompleted(identifier);
+	}
+
+	@Test
+	void completesDirectlyIfBufferIsFull() {
+
+		CountDownLatch flushed = new CountDownLatch(1);
+
+		// Blocks the flush so that the buffered completions keep occupying the buffer
+		doAnswer(it -> {
+			flushed.await();
+			return null;
+		}).when(delegate).markCompleted(anyCollection());
+
+		UUID identifier = UUID.randomUUID();
+
+		try {
+
+			registry.markCompleted(UUID.randomUUID());
+			registry.markCompleted(UUID.randomUUID());
+			registry.markCompleted(UUID.randomUUID());
+			registry.markCompleted(identifier);
+
+			verify(delegate).markCompleted(identifier);
+
+		} finally {
+			flushed.countDown();
+		}
+	}
+
+	@Test
+	void retriesFailedFlush() {
+
+		UUID identifier = UUID.randomUUID();
+		Collection<UUID> expected = Arrays.asList(identifier);
+
+		doThrow(IllegalStateException.class).doNothing().when(delegate).markCompleted(expected);
+
+		registry.markCompleted(identifier);
+		registry.flush();
+		registry.flush();
+
+		verify(delegate, times(2)).markCompleted(expected);
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
+import org.springframework.context.event.EventListener;
+import org.springframework.events.NonPersistent;
+import org.springframework.events.PublicationFilter;
+import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Unit tests for {@link ClassifiedApplicationListeners}.
+ *
+ * @author Oliver Drotbohm
+ */
+class ClassifiedApplicationListenersUnitTest {
+
+	ApplicationListener<?> afterCommit = listenerFor("afterCommit");
+	ApplicationListener<?> beforeCommit = listenerFor("beforeCommit");
+	ApplicationListener<?> plain = listenerFor("plain");
+	ApplicationListener<?> fallback = listenerFor("fallback");
+	ApplicationListener<?> conditional = listenerFor("conditional");
+	ApplicationListener<?> nonPersistent = listenerFor("nonPersistent");
+
+	ClassifiedApplicationListeners classified = ClassifiedApplicationListeners
+			.of(Arrays.asList(plain, afterCommit, beforeCommit));
+
+	ListenerConditionEvaluator evaluator = new ListenerConditionEvaluator(null);
+
+	@AfterEach
+	void tearDown() {
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clear();
+		}
+	}
+
+	@Test
+	void distinguishesListenerMethodsOfSameAdapterType() {
+
+		assertThat(classified.getListeners()).containsExactly(plain, afterCommit, beforeCommit);
+		assertThat(classified.getTransactionalListeners()).containsExactly(afterCommit, beforeCommit);
+	}
+
+	@Test
+	void exposesIdentifiersOfAfterCommitListenersOnly() {
+
+		assertThat(classified.getAfterCommitListenerIdentifier(afterCommit))
+				.isEqualTo(PublicationTargetIdentifier.forListener(afterCommit));
+		assertThat(classified.getAfterCommitListenerIdentifier(beforeCommit)).isNull();
+		assertThat(classified.getAfterCommitListenerIdentifier(plain)).isNull();
+	}
+
+	@Test
+	void onlyConsidersListenersWithFallbackExecutionWithoutTransaction() {
+
+		ClassifiedApplicationListeners classified = ClassifiedApplicationListeners
+				.of(Arrays.asList(plain, afterCommit, fallback));
+
+		assertThat(classified.getTransactionalListeners(eventFor("match"), evaluator)).containsExactly(fallback);
+	}
+
+	@Test
+	void skipsListenersWhoseConditionDoesNotMatch() {
+
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+
+		ClassifiedApplicationListeners classified = ClassifiedApplicationListeners
+				.of(Arrays.asList(afterCommit, conditional));
+
+		assertThat(classified.getTransactionalListeners(eventFor("match"), evaluator))
+				.containsExactly(afterCommit, conditional);
+		assertThat(classified.getTransactionalListeners(eventFor("other"), evaluator)).containsExactly(afterCommit);
+	}
+
+	@Test
+	void excludesListenersOptedOutOfPersistence() {
+
+		ClassifiedApplicationListeners classified = ClassifiedApplicationListeners
+				.of(Arrays.asList(afterCommit, nonPersistent), Object.class, Collections.emptyList());
+
+		assertThat(classified.getTransactionalListeners()).containsExactly(afterCommit);
+		assertThat(classified.getAfterCommitListenerIdentifier(nonPersistent)).isNull();
+	}
+
+	@Test
+	void excludesAllListenersOfNonPersistentEventType() {
+
+		ClassifiedApplicationListeners classified = ClassifiedApplicationListeners
+				.of(Arrays.asList(afterCommit, beforeCommit), SomeNonPersistentEvent.class, Collections.emptyList());
+
+		assertThat(classified.getListeners()).containsExactly(afterCommit, beforeCommit);
+		assertThat(classified.getTransactionalListeners()).isEmpty();
+	}
+
+	@Test
+	void excludesListenersRejectedByFilter() {
+
+		PublicationFilter filter = (listener, eventType) -> listener != beforeCommit;
+
+		ClassifiedApplicationListeners classified = ClassifiedApplicationListeners
+				.of(Arrays.asList(afterCommit, beforeCommit), Object.class, Collections.singletonList(filter));
+
+		assertThat(classified.getTransactionalListeners()).containsExactly(afterCommit);
+	}
+
+	@Test
+	void returnsPrecomputedListenersWithoutConditions() {
+
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+
+		assertThat(classified.getTransactionalListeners(eventFor("match"), evaluator))
+				.isSameAs(classified.getTransactionalListeners());
+	}
+
+	@Test
+	void isOnlyClassificationOfSameListenerInstances() {
+
+		assertThat(classified.isClassificationOf(Arrays.asList(plain, afterCommit, beforeCommit))).isTrue();
+		assertThat(classified.isClassificationOf(Arrays.asList(plain, afterCommit))).isFalse();
+		assertThat(classified.isClassificationOf(Arrays.asList(plain, listenerFor("afterCommit"), beforeCommit)))
+				.isFalse();
+	}
+
+	@Test
+	void cachesFilterDecisionsPerListenerAndEventType() {
+
+		AtomicInteger invocations = new AtomicInteger();
+		PublicationFilter filter = (listener, eventType) -> invocations.incrementAndGet() > 0;
+
+		ClassifiedApplicationListeners.Classifier classifier = new ClassifiedApplicationListeners.Classifier(
+				Collections.singletonList(filter));
+
+		classifier.classify(Arrays.asList(plain, afterCommit), Object.class);
+		classifier.classify(Arrays.asList(plain, afterCommit), Object.class);
+
+		assertThat(classifier.requiresPublication(afterCommit, Object.class)).isTrue();
+		assertThat(classifier.requiresPublication(plain, Object.class)).isFalse();
+		assertThat(invocations.get()).isEqualTo(1);
+
+		classifier.clear();
+		classifier.requiresPublication(afterCommit, Object.class);
+
+		assertThat(invocations.get()).isEqualTo(2);
+	}
+
+	private static PayloadApplicationEvent<Object> eventFor(Object payload) {
+		return new PayloadApplicationEvent<>(new Object(), payload);
+	}
+
+	private static ApplicationListener<?> listenerFor(String methodName) {
+
+		return new ApplicationListenerMethodAdapter("listeners", SomeListeners.class,
+				ReflectionUtils.findMethod(SomeListeners.class, methodName, Object.class));
+	}
+
+	static class SomeListeners {
+
+		@TransactionalEventListener
+		void afterCommit(Object event) {}
+
+		@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+		void beforeCommit(Object event) {}
+
+		@EventListener
+		void plain(Object event) {}
+
+		@TransactionalEventListener(fallbackExecution = true)
+		void fallback(Object event) {}
+
+		@TransactionalEventListener(condition = "#root.args[0] == 'match'")
+		void conditional(Object event) {}
+
+		@NonPersistent
+		@TransactionalEventListener
+		void nonPersistent(Object event) {}
+	}
+
+	@NonPersistent
+	static class SomeNonPersistentEvent {}
+}
@@ -19,13 +19,19 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.function.BiConsumer;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.aop.framework.Advised;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
 import org.springframework.context.event.EventListener;
+import org.springframework.events.CompletableEventPublication;
+import org.springframework.events.EventPublication;
 import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.PublicationTargetIdentifier;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
@@ -68,6 +74,46 @@ class CompletionRegisteringBeanPostProcessorUnitTest {
 		assertNonCompletion(SomeEventListener::nonEventListener);
 	}
 
+	@Test
+	void triggersCompletionByIdentifierForPublicationInFlight() throws Exception {
+
+		Object event = new Object();
+		Method method = SomeEventListener.class.getDeclaredMethod("onAfterCommit", Object.class);
+		EventPublication publication = CompletableEventPublication.of(event, PublicationTargetIdentifier.forMethod(method));
+
+		InFlightPublications.register(event, publication);
+
+		try {
+
+			Object processed = processor.postProcessAfterInitialization(bean, "listener");
+
+			assertThat(processed).isInstanceOfSatisfying(SomeEventListener.class, it -> it.onAfterCommit(event));
+
+			verify(registry).markCompleted(publication.getIdentifier());
+			verify(registry, never()).markCompleted(any(), any());
+
+		} finally {
+			InFlightPublications.unregister(event, publication);
+		}
+	}
+
+	@Test
+	void doesNotTriggerCompletionForListenerRejectedByFilter() throws Exception {
+
+		Method method = SomeEventListener.class.getDeclaredMethod("onAfterCommit", Object.class);
+
+		PersistentApplicationEventMulticaster multicaster = new PersistentApplicationEventMulticaster(() -> registry);
+		multicaster.addApplicationListener(new ApplicationListenerMethodAdapter("listener", SomeEventListener.class, method));
+		multicaster.setPublicationFilters(Collections.singletonList((listener, eventType) -> false));
+
+		BeanPostProcessor processor = new CompletionRegisteringBeanPostProcessor(() -> registry, () -> multicaster);
+		Object processed = processor.postProcessAfterInitialization(bean, "listener");
+
+		assertThat(processed).isInstanceOfSatisfying(SomeEventListener.class, it -> it.onAfterCommit(new Object()));
+
+		verifyNoInteractions(registry);
+	}
+
 	private void assertCompletion(BiConsumer<SomeEventListener, Object> consumer) {
 		assertCompletion(consumer, true);
 	}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.lang.reflect.Method;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.events.CompletableEventPublication;
+import org.springframework.events.EventPublication;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.events.config.EnablePersistentDomainEvents;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Integration tests for the republication of {@link EventPublication}s by {@link PersistentApplicationEventMulticaster}.
+ *
+ * @author Oliver Drotbohm
+ */
+class PersistentApplicationEventMulticasterIntegrationTest {
+
+	AnnotationConfigApplicationContext context;
+	EventPublicationRegistry registry;
+	PersistentApplicationEventMulticaster multicaster;
+
+	@BeforeEach
+	void setUp() {
+
+		this.context = new AnnotationConfigApplicationContext(TestConfiguration.class);
+		this.registry = context.getBean(EventPublicationRegistry.class);
+		this.multicaster = context.getBean(PersistentApplicationEventMulticaster.class);
+	}
+
+	@AfterEach
+	void tearDown() {
+		context.close();
+	}
+
+	@Test
+	void completesRepublishedPublicationOnlyOnce() {
+
+		EventPublication publication = publicationFor(new SomeEvent(), SomeEventListener.class);
+
+		multicaster.republish(publication);
+
+		assertThat(context.getBean(SomeEventListener.class).getInvocations()).isEqualTo(1);
+
+		verify(registry).markCompleted(publication.getIdentifier());
+		verify(registry, never()).markCompleted(any(EventPublication.class));
+		verify(registry, never()).markCompleted(any(), any());
+	}
+
+	@Test
+	void registersFailureOfRepublishedPublication() {
+
+		EventPublication publication = publicationFor(new OtherEvent(), FailingEventListener.class);
+
+		multicaster.republish(publication);
+
+		verify(registry).registerFailure(eq(publication.getIdentifier()), contains(IllegalStateException.class.getName()),
+				eq(0));
+		verify(registry, never()).markCompleted(any(UUID.class));
+		verify(registry, never()).markCompleted(any(EventPublication.class));
+	}
+
+	private static EventPublication publicationFor(Object event, Class<?> listenerType) {
+
+		Method method = ReflectionUtils.findMethod(listenerType, "on", event.getClass());
+
+		return CompletableEventPublication.of(event, PublicationTargetIdentifier.forMethod(method));
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnablePersistentDomainEvents
+	static class TestConfiguration {
+
+		@Bean
+		EventPublicationRegistry eventPublicationRegistry() {
+			return mock(EventPublicationRegistry.class);
+		}
+
+		@Bean
+		SomeEventListener someEventListener() {
+			return new SomeEventListener();
+		}
+
+		@Bean
+		FailingEventListener failingEventListener() {
+			return new FailingEventListener();
+		}
+	}
+
+	static class SomeEvent {}
+
+	static class OtherEvent {}
+
+	static class SomeEventListener {
+
+		private final AtomicInteger invocations = new AtomicInteger();
+
+		@TransactionalEventListener
+		public void on(SomeEvent event) {
+			invocations.incrementAndGet();
+		}
+
+		// Accessed via a method as the bean is a class-based proxy
+		public int getInvocations() {
+			return invocations.get();
+		}
+	}
+
+	static class FailingEventListener {
+
+		@TransactionalEventListener
+		public void on(OtherEvent event) {
+			throw new IllegalStateException();
+		}
+	}
+}
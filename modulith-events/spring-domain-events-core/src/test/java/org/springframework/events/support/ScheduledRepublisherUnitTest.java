@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.events.EventPublication;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Unit tests for {@link ScheduledRepublisher}.
+ *
+ * @author Oliver Drotbohm
+ */
+class ScheduledRepublisherUnitTest {
+
+	EventPublicationRegistry registry = mock(EventPublicationRegistry.class);
+	PersistentApplicationEventMulticaster multicaster = mock(PersistentApplicationEventMulticaster.class);
+	TaskScheduler scheduler = mock(TaskScheduler.class);
+	ScheduledRepublisher republisher = new ScheduledRepublisher(() -> registry, multicaster, scheduler,
+			Duration.ofHours(1), Duration.ofMinutes(5), Duration.ofSeconds(10), Duration.ofMinutes(1), 10);
+
+	@Test
+	void schedulesRepublicationWhileRunning() {
+
+		ScheduledFuture<?> future = mock(ScheduledFuture.class);
+
+		doReturn(future).when(scheduler).scheduleWithFixedDelay(any(), any(Instant.class), eq(Duration.ofHours(1)));
+
+		republisher.start();
+
+		assertThat(republisher.isRunning()).isTrue();
+
+		republisher.stop();
+
+		assertThat(republisher.isRunning()).isFalse();
+		verify(future).cancel(false);
+	}
+
+	@Test
+	void looksUpPublicationsDueNowPassingThreshold() {
+
+		Instant before = Instant.now();
+
+		doReturn(Collections.emptyList()).when(registry).findDuePublications(any(), any(), anyInt());
+
+		republisher.republishDuePublications();
+
+		verify(registry).findDuePublications(argThat(it -> !it.isBefore(before)), eq(Duration.ofMinutes(5)), eq(10));
+	}
+
+	@Test
+	void registersAttemptBeforeRepublishing() {
+
+		UUID identifier = UUID.randomUUID();
+		EventPublication publication = mock(EventPublication.class);
+
+		doReturn(identifier).when(publication).getIdentifier();
+		doReturn(2).when(publication).getAttemptCount();
+		doReturn(Arrays.asList(publication)).when(registry).findDuePublications(any(), any(), eq(10));
+
+		Instant before = Instant.now();
+
+		assertThat(republisher.republishDuePublications()).isEqualTo(1);
+
+		InOrder inOrder = inOrder(registry, multicaster);
+
+		// Third attempt defers the next one by 20 to 40 seconds
+		inOrder.verify(registry).registerAttempt(eq(identifier), argThat(it -> !it.isBefore(before.plusSeconds(20))));
+		inOrder.verify(multicaster).republish(publication);
+	}
+
+	@Test
+	void backsOffExponentiallyUpToMaximum() {
+
+		assertThat(republisher.getBackoff(1)) //
+				.isGreaterThanOrEqualTo(Duration.ofSeconds(5)) //
+				.isLessThanOrEqualTo(Duration.ofSeconds(10));
+
+		assertThat(republisher.getBackoff(2)) //
+				.isGreaterThanOrEqualTo(Duration.ofSeconds(10)) //
+				.isLessThanOrEqualTo(Duration.ofSeconds(20));
+
+		assertThat(republisher.getBackoff(100)) //
+				.isGreaterThanOrEqualTo(Duration.ofSeconds(30)) //
+				.isLessThanOrEqualTo(Duration.ofMinutes(1));
+	}
+}
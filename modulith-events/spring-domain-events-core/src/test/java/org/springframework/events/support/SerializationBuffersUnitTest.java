@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.events.StreamingEventSerializer;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Unit tests for {@link SerializationBuffers}.
+ *
+ * @author Oliver Drotbohm
+ */
+class SerializationBuffersUnitTest {
+
+	StreamingEventSerializer serializer = new StreamingEventSerializer() {
+
+		@Override
+		public void serialize(Object event, OutputStream output) throws IOException {
+
+			byte[] bytes = event.toString().getBytes(StandardCharsets.UTF_8);
+
+			for (int i = 0; i < Integer.parseInt(event.toString().substring(0, 1)); i++) {
+				output.write(bytes);
+			}
+		}
+
+		@Override
+		public Object deserialize(InputStream input, Class<?> type) throws IOException {
+			return StreamUtils.copyToString(input, StandardCharsets.UTF_8);
+		}
+	};
+
+	@Test
+	void serializesIntoPooledBuffer() {
+
+		Object first = SerializationBuffers.serialize(serializer, "1-first");
+		Object second = SerializationBuffers.serialize(serializer, "2-second");
+
+		assertThat(first).isEqualTo("1-first".getBytes(StandardCharsets.UTF_8));
+		assertThat(second).isEqualTo("2-second2-second".getBytes(StandardCharsets.UTF_8));
+		assertThat(serializer.deserialize(second, String.class)).isEqualTo("2-second2-second");
+	}
+
+	@Test
+	void decodesTextualSerializersOutputFromPooledBuffer() {
+
+		StreamingEventSerializer textual = new StreamingEventSerializer() {
+
+			@Override
+			public void serialize(Object event, OutputStream output) throws IOException {
+				serializer.serialize(event, output);
+			}
+
+			@Override
+			public boolean isBinary() {
+				return false;
+			}
+
+			@Override
+			public Object deserialize(InputStream input, Class<?> type) throws IOException {
+				return serializer.deserialize(input, type);
+			}
+		};
+
+		assertThat(SerializationBuffers.serialize(textual, "2-\u00fcnicode")).isEqualTo("2-\u00fcnicode2-\u00fcnicode");
+	}
+
+	@Test
+	void doesNotRetainExceptionallyLargeBuffers() {
+
+		StringBuilder builder = new StringBuilder("9");
+
+		while (builder.length() < SerializationBuffers.MAX_RETAINED_CAPACITY / 8) {
+			builder.append('x');
+		}
+
+		assertThat((byte[]) SerializationBuffers.serialize(serializer, builder.toString()))
+				.hasSize(builder.length() * 9);
+		assertThat(SerializationBuffers.getPooledCapacity()).isEqualTo(SerializationBuffers.INITIAL_CAPACITY);
+	}
+}
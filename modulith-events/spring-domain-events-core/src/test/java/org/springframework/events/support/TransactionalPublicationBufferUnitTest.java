@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.support;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.events.EventPublication;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+/**
+ * Unit tests for {@link TransactionalPublicationBuffer}.
+ *
+ * @author Oliver Drotbohm
+ */
+class TransactionalPublicationBufferUnitTest {
+
+	EventPublicationRegistry registry = mock(EventPublicationRegistry.class);
+	Object key = new Object();
+
+	@BeforeEach
+	void setUp() {
+
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+	}
+
+	@AfterEach
+	void tearDown() {
+
+		TransactionSynchronizationManager.clear();
+		TransactionSynchronizationManager.unbindResourceIfPossible(key);
+	}
+
+	@Test
+	void storesBufferedPublicationsInOneBatchBeforeCommit() {
+
+		EventPublication first = mock(EventPublication.class), second = mock(EventPublication.class);
+
+		TransactionalPublicationBuffer.add(key, registry, Arrays.asList(first));
+		TransactionalPublicationBuffer.add(key, registry, Arrays.asList(second));
+
+		verify(registry, never()).storeAll(any());
+
+		TransactionSynchronizationUtils.triggerBeforeCommit(false);
+
+		verify(registry).storeAll(Arrays.asList(first, second));
+	}
+
+	@Test
+	void storesPublicationsAddedAfterFlushRightAway() {
+
+		List<EventPublication> publications = Arrays.asList(mock(EventPublication.class));
+
+		TransactionalPublicationBuffer.add(key, registry, Arrays.asList(mock(EventPublication.class)));
+		TransactionSynchronizationUtils.triggerBeforeCommit(false);
+		TransactionalPublicationBuffer.add(key, registry, publications);
+
+		verify(registry).storeAll(publications);
+	}
+
+	@Test
+	void discardsPublicationsOnRollback() {
+
+		TransactionalPublicationBuffer.add(key, registry, Arrays.asList(mock(EventPublication.class)));
+		TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		verify(registry, never()).storeAll(any());
+	}
+}
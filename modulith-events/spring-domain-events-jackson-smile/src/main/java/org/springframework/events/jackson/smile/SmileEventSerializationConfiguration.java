@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jackson.smile;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.events.config.EventSerializationConfigurationExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Registers the {@link SmileEventSerializer}. Declared primary so that it takes precedence over the JSON based one in
+ * case both modules are on the classpath.
+ *
+ * @author Oliver Drotbohm
+ */
+@Configuration(proxyBeanMethods = false)
+class SmileEventSerializationConfiguration implements EventSerializationConfigurationExtension {
+
+	@Bean
+	@Primary
+	public SmileEventSerializer smileEventSerializer() {
+
+		ObjectMapper mapper = smileObjectMapper();
+
+		return new SmileEventSerializer(() -> mapper);
+	}
+
+	static ObjectMapper smileObjectMapper() {
+
+		ObjectMapper mapper = new ObjectMapper(new SmileFactory());
+		mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+		return mapper;
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jackson.smile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.events.StreamingEventSerializer;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.function.SingletonSupplier;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * {@link StreamingEventSerializer} serializing events into Jackson's binary JSON format Smile, i.e. into byte arrays
+ * that the registries store as binary data. Considerably more compact and faster to parse than textual JSON. Caches
+ * {@link ObjectReader}s and {@link ObjectWriter}s per event type.
+ *
+ * @author Oliver Drotbohm
+ * @see SmileFactory
+ */
+class SmileEventSerializer implements StreamingEventSerializer {
+
+	private final Supplier<ObjectMapper> mapper;
+	private final Map<Class<?>, ObjectReader> readers = new ConcurrentReferenceHashMap<>(64);
+	private final Map<Class<?>, ObjectWriter> writers = new ConcurrentReferenceHashMap<>(64);
+
+	/**
+	 * Creates a new {@link SmileEventSerializer} for the given {@link ObjectMapper} {@link Supplier}.
+	 *
+	 * @param mapper must not be {@literal null}.
+	 */
+	SmileEventSerializer(Supplier<ObjectMapper> mapper) {
+
+		Assert.notNull(mapper, "ObjectMapper supplier must not be null!");
+
+		this.mapper = SingletonSupplier.of(mapper);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.StreamingEventSerializer#serialize(java.lang.Object, java.io.OutputStream)
+	 */
+	@Override
+	public void serialize(Object event, OutputStream output) throws IOException {
+		getWriter(event.getClass()).writeValue(output, event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.StreamingEventSerializer#deserialize(java.io.InputStream, java.lang.Class)
+	 */
+	@Override
+	public Object deserialize(InputStream input, Class<?> type) throws IOException {
+		return getReader(type).readValue(input);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.StreamingEventSerializer#deserialize(java.lang.Object, java.lang.Class)
+	 */
+	@Override
+	public Object deserialize(Object serialized, Class<?> type) {
+
+		Assert.isInstanceOf(byte[].class, serialized, "Smile serialized event must be a byte array!");
+
+		try {
+			return getReader(type).readValue((byte[]) serialized);
+		} catch (IOException o_O) {
+			throw new UncheckedIOException(o_O);
+		}
+	}
+
+	private ObjectReader getReader(Class<?> type) {
+		return readers.computeIfAbsent(type, it -> mapper.get().readerFor(it));
+	}
+
+	private ObjectWriter getWriter(Class<?> type) {
+
+		return writers.computeIfAbsent(type, it -> mapper.get().writerFor(it) //
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+	}
+}
@@ -0,0 +1,2 @@
+@org.springframework.lang.NonNullApi
+package org.springframework.events.jackson.smile;
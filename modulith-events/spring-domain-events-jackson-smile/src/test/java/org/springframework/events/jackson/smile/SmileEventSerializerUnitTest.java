@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jackson.smile;
+
+import static org.assertj.core.api.Assertions.*;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SmileEventSerializer}.
+ *
+ * @author Oliver Drotbohm
+ */
+class SmileEventSerializerUnitTest {
+
+	SmileEventSerializer serializer = new SmileEventSerializer(
+			SmileEventSerializationConfiguration::smileObjectMapper);
+
+	@Test
+	void serializesEventsIntoCompactBinaryFormat() {
+
+		SomeEvent event = new SomeEvent("value", 42);
+
+		Object serialized = serializer.serialize(event);
+
+		assertThat(serialized).isInstanceOf(byte[].class);
+		assertThat((byte[]) serialized)
+				.hasSizeLessThan("{\"name\":\"value\",\"number\":42}".getBytes(StandardCharsets.UTF_8).length);
+		assertThat(serializer.deserialize(serialized, SomeEvent.class)).isEqualTo(event);
+	}
+
+	@Test
+	void rejectsNonBinarySerializedEvents() {
+
+		assertThatIllegalArgumentException() //
+				.isThrownBy(() -> serializer.deserialize("{\"name\":\"value\"}", SomeEvent.class));
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	static class SomeEvent {
+
+		String name;
+		int number;
+	}
+}
@@ -21,17 +21,26 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.events.config.EventSerializationConfigurationExtension;
+import org.springframework.util.ClassUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 
 /**
+ * Registers the {@link JacksonEventSerializer}. Uses the application's {@link ObjectMapper} if available, a default one
+ * otherwise. The latter gets Jackson's {@link AfterburnerModule} registered if it is present on the classpath.
+ *
  * @author Oliver Gierke
  */
 @Configuration(proxyBeanMethods = false)
 @RequiredArgsConstructor
 class JacksonEventSerializationConfiguration implements EventSerializationConfigurationExtension {
 
+	private static final boolean AFTERBURNER_PRESENT = ClassUtils.isPresent(
+			"com.fasterxml.jackson.module.afterburner.AfterburnerModule",
+			JacksonEventSerializationConfiguration.class.getClassLoader());
+
 	private final ObjectProvider<ObjectMapper> mapper;
 
 	@Bean
@@ -44,6 +53,20 @@ class JacksonEventSerializationConfiguration implements EventSerializationConfig
 		ObjectMapper mapper = new ObjectMapper();
 		mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
 
+		if (AFTERBURNER_PRESENT) {
+			AfterburnerRegistrar.register(mapper);
+		}
+
 		return mapper;
 	}
+
+	/**
+	 * Separate type to only load {@link AfterburnerModule} if present.
+	 */
+	private static class AfterburnerRegistrar {
+
+		static void register(ObjectMapper mapper) {
+			mapper.registerModule(new AfterburnerModule());
+		}
+	}
 }
@@ -15,49 +15,114 @@
  */
 package org.springframework.events.jackson;
 
-import lombok.RequiredArgsConstructor;
-
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Map;
 import java.util.function.Supplier;
 
-import org.springframework.events.EventSerializer;
+import org.springframework.events.StreamingEventSerializer;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.function.SingletonSupplier;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 /**
+ * {@link StreamingEventSerializer} writing events as UTF-8 encoded JSON text into the pooled buffers the registries
+ * serialize events into, so that they're stored as {@link String}s in the textual column without an intermediate
+ * {@link String} being built by Jackson. Events stored as UTF-8 encoded bytes can be read as well. The
+ * {@link ObjectMapper} is resolved on first use only and the {@link ObjectReader}s and {@link ObjectWriter}s derived
+ * from it are cached per event type.
+ *
  * @author Oliver Gierke
  */
-@RequiredArgsConstructor
-class JacksonEventSerializer implements EventSerializer {
+class JacksonEventSerializer implements StreamingEventSerializer {
 
 	private final Supplier<ObjectMapper> mapper;
+	private final Map<Class<?>, ObjectReader> readers = new ConcurrentReferenceHashMap<>(64);
+	private final Map<Class<?>, ObjectWriter> writers = new ConcurrentReferenceHashMap<>(64);
+
+	/**
+	 * Creates a new {@link JacksonEventSerializer} for the given {@link ObjectMapper} {@link Supplier}.
+	 *
+	 * @param mapper must not be {@literal null}.
+	 */
+	JacksonEventSerializer(Supplier<ObjectMapper> mapper) {
+
+		Assert.notNull(mapper, "ObjectMapper supplier must not be null!");
+
+		this.mapper = SingletonSupplier.of(mapper);
+	}
 
 	/*
 	 * (non-Javadoc)
-	 * @see de.olivergierke.events.EventSerializer#serialize(java.lang.Object)
+	 * @see org.springframework.events.StreamingEventSerializer#serialize(java.lang.Object, java.io.OutputStream)
 	 */
 	@Override
-	public Object serialize(Object event) {
+	public void serialize(Object event, OutputStream output) throws IOException {
 
-		try {
-			return mapper.get().writeValueAsString(event);
-		} catch (JsonProcessingException e) {
-			throw new RuntimeException(e);
-		}
+		Assert.notNull(event, "Event must not be null!");
+
+		getWriter(event.getClass()).writeValue(output, event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.StreamingEventSerializer#isBinary()
+	 */
+	@Override
+	public boolean isBinary() {
+		return false;
 	}
 
 	/*
 	 * (non-Javadoc)
-	 * @see de.olivergierke.events.EventSerializer#deserialize(java.lang.Object, java.lang.Class)
+	 * @see org.springframework.events.StreamingEventSerializer#deserialize(java.io.InputStream, java.lang.Class)
+	 */
+	@Override
+	public Object deserialize(InputStream input, Class<?> type) throws IOException {
+		return getReader(type).readValue(input);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.StreamingEventSerializer#deserialize(java.lang.Object, java.lang.Class)
 	 */
 	@Override
 	public Object deserialize(Object serialized, Class<?> type) {
 
+		Assert.notNull(serialized, "Serialized event must not be null!");
+
+		ObjectReader reader = getReader(type);
+
 		try {
-			return mapper.get().readerFor(type).readValue(serialized.toString());
-		} catch (IOException e) {
-			throw new RuntimeException(e);
+
+			if (serialized instanceof byte[]) {
+				return reader.readValue((byte[]) serialized);
+			}
+
+			Assert.isInstanceOf(String.class, serialized, "JSON serialized event must be a String or byte array!");
+
+			return reader.readValue(new StringReader((String) serialized));
+
+		} catch (IOException o_O) {
+			throw new UncheckedIOException(o_O);
 		}
 	}
+
+	private ObjectReader getReader(Class<?> type) {
+		return readers.computeIfAbsent(type, it -> mapper.get().readerFor(it));
+	}
+
+	private ObjectWriter getWriter(Class<?> type) {
+
+		return writers.computeIfAbsent(type, it -> mapper.get().writerFor(it) //
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+	}
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jackson;
+
+import static org.assertj.core.api.Assertions.*;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.events.support.SerializationBuffers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit tests for {@link JacksonEventSerializer}.
+ *
+ * @author Oliver Drotbohm
+ */
+class JacksonEventSerializerUnitTest {
+
+	AtomicInteger lookups = new AtomicInteger();
+	ObjectMapper mapper = new ObjectMapper();
+
+	JacksonEventSerializer serializer = new JacksonEventSerializer(() -> {
+		lookups.incrementAndGet();
+		return mapper;
+	});
+
+	@Test
+	void resolvesObjectMapperOnlyOnce() {
+
+		SomeEvent event = new SomeEvent("value");
+
+		Object serialized = serializer.serialize(event);
+
+		assertThat(serializer.deserialize(serialized, SomeEvent.class)).isEqualTo(event);
+		assertThat(serializer.serialize(event)).isEqualTo(serialized);
+		assertThat(lookups.get()).isEqualTo(1);
+	}
+
+	@Test
+	void serializesEventsAsText() {
+
+		Object serialized = serializer.serialize(new SomeEvent("value"));
+
+		assertThat(serialized).isInstanceOf(String.class);
+		assertThat(serialized).isEqualTo("{\"name\":\"value\"}");
+	}
+
+	@Test
+	void serializesEventsAsTextThroughPooledBuffers() {
+
+		SomeEvent event = new SomeEvent("value");
+		Object serialized = SerializationBuffers.serialize(serializer, event);
+
+		assertThat(serialized).isEqualTo("{\"name\":\"value\"}");
+		assertThat(serializer.deserialize(serialized, SomeEvent.class)).isEqualTo(event);
+	}
+
+	@Test
+	void readsEventsStoredAsBytes() {
+
+		SomeEvent event = new SomeEvent("value");
+		byte[] serialized = serializer.serialize(event).toString().getBytes(StandardCharsets.UTF_8);
+
+		assertThat(serializer.deserialize(serialized, SomeEvent.class)).isEqualTo(event);
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	static class SomeEvent {
+		String name;
+	}
+}
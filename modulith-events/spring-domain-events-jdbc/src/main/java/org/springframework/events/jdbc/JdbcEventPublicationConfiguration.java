@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jdbc;
+
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.events.EventSerializer;
+import org.springframework.events.PublicationIdentifierGenerator;
+import org.springframework.events.config.EventPublicationConfigurationExtension;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * @author Oliver Drotbohm
+ */
+@Configuration(proxyBeanMethods = false)
+@RequiredArgsConstructor
+class JdbcEventPublicationConfiguration implements EventPublicationConfigurationExtension, BeanClassLoaderAware {
+
+	private static final String DELETE_ON_COMPLETION_PROPERTY = "events.completion.delete";
+	private static final String REPORT_ALL_INCOMPLETE_PROPERTY = "events.shutdown.report-all-incomplete";
+	private static final String SHUTDOWN_REPORT_TIMEOUT_PROPERTY = "events.shutdown.report-timeout";
+	private static final String SKIP_LOCKED_PROPERTY = "events.republication.skip-locked";
+
+	private final ObjectProvider<JdbcOperations> operations;
+	private final ObjectFactory<DataSource> dataSource;
+	private final ObjectFactory<EventSerializer> serializer;
+	private final ObjectProvider<PlatformTransactionManager> transactionManager;
+	private final ObjectProvider<PublicationIdentifierGenerator> identifierGenerator;
+	private final Environment environment;
+
+	private ClassLoader classLoader;
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.BeanClassLoaderAware#setBeanClassLoader(java.lang.ClassLoader)
+	 */
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	@Bean
+	public JdbcEventPublicationRegistry jdbcEventPublicationRegistry() {
+
+		JdbcOperations jdbcOperations = operations.getIfAvailable(() -> new JdbcTemplate(dataSource.getObject()));
+
+		PlatformTransactionManager transactions = transactionManager
+				.getIfAvailable(() -> new DataSourceTransactionManager(dataSource.getObject()));
+		JdbcEventPublicationDictionary dictionary = new JdbcEventPublicationDictionary(jdbcOperations, transactions);
+
+		JdbcEventPublicationRegistry registry = new JdbcEventPublicationRegistry(jdbcOperations, serializer.getObject(),
+				dictionary, transactions, classLoader);
+		registry.setDeleteOnCompletion(environment.getProperty(DELETE_ON_COMPLETION_PROPERTY, Boolean.class, false));
+		registry.setReportAllIncompleteOnShutdown(
+				environment.getProperty(REPORT_ALL_INCOMPLETE_PROPERTY, Boolean.class, false));
+		registry.setShutdownReportTimeout(Duration.parse(environment.getProperty(SHUTDOWN_REPORT_TIMEOUT_PROPERTY, "PT5S")));
+		registry.setSkipLocked(environment.getProperty(SKIP_LOCKED_PROPERTY, Boolean.class, false));
+		identifierGenerator.ifAvailable(registry::setIdentifierGenerator);
+
+		return registry;
+	}
+}
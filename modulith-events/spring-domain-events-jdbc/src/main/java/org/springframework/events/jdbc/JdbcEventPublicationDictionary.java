@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jdbc;
+
+import java.util.List;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.events.support.CachingDictionary;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maps event type names and listener identifiers to the keys of their entries in the
+ * {@code EVENT_PUBLICATION_EVENT_TYPE} and {@code EVENT_PUBLICATION_LISTENER} dictionary tables and back, caching the
+ * mappings in memory after first use. Missing dictionary entries are created in a separate transaction so that they
+ * can be cached independently of the outcome of the transaction the publication is stored in.
+ *
+ * @author Oliver Drotbohm
+ */
+class JdbcEventPublicationDictionary {
+
+	private static final String SQL_STATEMENT_FIND_LISTENER_KEY = "SELECT ID FROM EVENT_PUBLICATION_LISTENER " //
+			+ "WHERE LISTENER_ID = ?";
+	private static final String SQL_STATEMENT_FIND_LISTENER_ID = "SELECT LISTENER_ID FROM EVENT_PUBLICATION_LISTENER " //
+			+ "WHERE ID = ?";
+	private static final String SQL_STATEMENT_INSERT_LISTENER = "INSERT INTO EVENT_PUBLICATION_LISTENER (LISTENER_ID) " //
+			+ "VALUES (?)";
+
+	private static final String SQL_STATEMENT_FIND_EVENT_TYPE_KEY = "SELECT ID FROM EVENT_PUBLICATION_EVENT_TYPE " //
+			+ "WHERE EVENT_TYPE = ?";
+	private static final String SQL_STATEMENT_FIND_EVENT_TYPE = "SELECT EVENT_TYPE FROM EVENT_PUBLICATION_EVENT_TYPE " //
+			+ "WHERE ID = ?";
+	private static final String SQL_STATEMENT_INSERT_EVENT_TYPE = "INSERT INTO EVENT_PUBLICATION_EVENT_TYPE (EVENT_TYPE) " //
+			+ "VALUES (?)";
+
+	private final JdbcOperations operations;
+	private final TransactionTemplate transactions;
+
+	private final CachingDictionary<String> listenerIds;
+	private final CachingDictionary<String> eventTypes;
+
+	/**
+	 * Creates a new {@link JdbcEventPublicationDictionary} for the given {@link JdbcOperations} and
+	 * {@link PlatformTransactionManager}.
+	 *
+	 * @param operations must not be {@literal null}.
+	 * @param transactionManager must not be {@literal null}.
+	 */
+	JdbcEventPublicationDictionary(JdbcOperations operations, PlatformTransactionManager transactionManager) {
+
+		this.operations = operations;
+		this.transactions = new TransactionTemplate(transactionManager);
+		this.transactions.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+		this.listenerIds = new CachingDictionary<>( //
+				it -> lookupOrCreate(SQL_STATEMENT_FIND_LISTENER_KEY, SQL_STATEMENT_INSERT_LISTENER, it), //
+				it -> lookup(SQL_STATEMENT_FIND_LISTENER_ID, String.class, it));
+
+		this.eventTypes = new CachingDictionary<>( //
+				it -> lookupOrCreate(SQL_STATEMENT_FIND_EVENT_TYPE_KEY, SQL_STATEMENT_INSERT_EVENT_TYPE, it), //
+				it -> lookup(SQL_STATEMENT_FIND_EVENT_TYPE, String.class, it));
+	}
+
+	/**
+	 * Returns the key of the dictionary entry for the given listener identifier, creating one if necessary.
+	 *
+	 * @param identifier must not be {@literal null}.
+	 * @return
+	 */
+	int getListenerKey(PublicationTargetIdentifier identifier) {
+		return listenerIds.getKey(identifier.toString());
+	}
+
+	/**
+	 * Returns the listener identifier for the given dictionary key.
+	 *
+	 * @param key
+	 * @return will never be {@literal null}.
+	 */
+	PublicationTargetIdentifier getListenerId(int key) {
+		return PublicationTargetIdentifier.of(listenerIds.getValue(key));
+	}
+
+	/**
+	 * Returns the key of the dictionary entry for the given event type name, creating one if necessary.
+	 *
+	 * @param type must not be {@literal null}.
+	 * @return
+	 */
+	int getEventTypeKey(String type) {
+		return eventTypes.getKey(type);
+	}
+
+	/**
+	 * Returns the event type name for the given dictionary key.
+	 *
+	 * @param key
+	 * @return will never be {@literal null}.
+	 */
+	String getEventType(int key) {
+		return eventTypes.getValue(key);
+	}
+
+	/**
+	 * Looks up the key of the dictionary entry for the given value and creates the entry if it doesn't exist yet. In case
+	 * a concurrent creation of the same entry wins, the entry is looked up again.
+	 */
+	private Integer lookupOrCreate(String lookup, String insert, String value) {
+
+		try {
+
+			return transactions.execute(__ -> {
+
+				Integer key = lookup(lookup, Integer.class, value);
+
+				if (key != null) {
+					return key;
+				}
+
+				operations.update(insert, value);
+
+				return lookup(lookup, Integer.class, value);
+			});
+
+		} catch (DataIntegrityViolationException o_O) {
+			return transactions.execute(__ -> lookup(lookup, Integer.class, value));
+		}
+	}
+
+	@Nullable
+	private <T> T lookup(String sql, Class<T> type, Object parameter) {
+
+		List<T> result = operations.queryForList(sql, type, parameter);
+
+		return result.isEmpty() ? null : result.get(0);
+	}
+}
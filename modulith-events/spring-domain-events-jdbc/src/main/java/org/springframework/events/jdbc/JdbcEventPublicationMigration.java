@@ -0,0 +1,262 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jdbc;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.events.PublicationIdentifierGenerator;
+import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.events.support.SerializedEventDigest;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+/**
+ * Migrates the publications stored by previous versions in a single table, holding the listener identifier, event type
+ * and serialized event with every publication, into the current layout of the {@code EVENT_PUBLICATION_LISTENER} and
+ * {@code EVENT_PUBLICATION_EVENT_TYPE} dictionary tables, the {@code EVENT_PUBLICATION_EVENT} table storing every
+ * distinct serialized event once and the {@code EVENT_PUBLICATION} table referring to them. The digests of the
+ * serialized events are calculated just like the registries do, which is why this can't be done in plain SQL.
+ * <p>
+ * The source table defaults to {@value #DEFAULT_SOURCE_TABLE}, the one mapped from the {@code JpaEventPublication}
+ * entity of previous versions with Spring Boot's default naming strategy, and is expected to have the columns
+ * {@code ID}, {@code PUBLICATION_DATE}, {@code LISTENER_ID}, {@code SERIALIZED_EVENT}, {@code EVENT_TYPE} and
+ * {@code COMPLETION_DATE}. The target tables have to exist already, see
+ * {@code org/springframework/events/jdbc/schema.sql}. The migration runs in a single transaction, keeps the
+ * identifiers, dates and completion state of all publications and leaves the source table untouched, so that it can be
+ * dropped once the migration has been verified. Run it once, with the application stopped, and with the same
+ * {@link org.springframework.events.EventSerializer} configured afterwards that wrote the serialized events.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+public class JdbcEventPublicationMigration {
+
+	public static final String DEFAULT_SOURCE_TABLE = "JPA_EVENT_PUBLICATION";
+
+	private static final int BATCH_SIZE = 100;
+
+	private static final String SQL_STATEMENT_SELECT = "SELECT " //
+			+ "ID, PUBLICATION_DATE, LISTENER_ID, SERIALIZED_EVENT, EVENT_TYPE, COMPLETION_DATE FROM %s " //
+			+ "ORDER BY PUBLICATION_DATE";
+
+	private static final String SQL_STATEMENT_INSERT_EVENT = "INSERT INTO EVENT_PUBLICATION_EVENT " //
+			+ "(ID, EVENT_TYPE_KEY, SERIALIZED_EVENT, SERIALIZED_EVENT_HASH) " //
+			+ "VALUES (?, ?, ?, ?)";
+
+	private static final String SQL_STATEMENT_INSERT = "INSERT INTO EVENT_PUBLICATION " //
+			+ "(ID, PUBLICATION_DATE, LISTENER_KEY, EVENT_ID, COMPLETION_DATE, NEXT_ATTEMPT_AT) " //
+			+ "VALUES (?, ?, ?, ?, ?, ?)";
+
+	private final JdbcOperations operations;
+	private final TransactionTemplate transactions;
+	private final JdbcEventPublicationDictionary dictionary;
+
+	private String sourceTable = DEFAULT_SOURCE_TABLE;
+	private PublicationIdentifierGenerator identifierGenerator = PublicationIdentifierGenerator.timeOrdered();
+
+	/**
+	 * Creates a new {@link JdbcEventPublicationMigration} for the given {@link DataSource}.
+	 *
+	 * @param dataSource must not be {@literal null}.
+	 */
+	public JdbcEventPublicationMigration(DataSource dataSource) {
+		this(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource));
+	}
+
+	/**
+	 * Creates a new {@link JdbcEventPublicationMigration} for the given {@link JdbcOperations} and
+	 * {@link PlatformTransactionManager}.
+	 *
+	 * @param operations must not be {@literal null}.
+	 * @param transactionManager must not be {@literal null}.
+	 */
+	public JdbcEventPublicationMigration(JdbcOperations operations, PlatformTransactionManager transactionManager) {
+
+		Assert.notNull(operations, "JdbcOperations must not be null!");
+		Assert.notNull(transactionManager, "PlatformTransactionManager must not be null!");
+
+		this.operations = operations;
+		this.transactions = new TransactionTemplate(transactionManager);
+		this.dictionary = new JdbcEventPublicationDictionary(operations, transactionManager);
+	}
+
+	/**
+	 * Configures the name of the table to migrate the publications from. Defaults to {@value #DEFAULT_SOURCE_TABLE}.
+	 *
+	 * @param sourceTable must not be {@literal null} or empty.
+	 */
+	public void setSourceTable(String sourceTable) {
+
+		Assert.hasText(sourceTable, "Source table must not be null or empty!");
+
+		this.sourceTable = sourceTable;
+	}
+
+	/**
+	 * Configures the {@link PublicationIdentifierGenerator} to create the identifiers of the events stored in
+	 * {@code EVENT_PUBLICATION_EVENT}. Defaults to {@link PublicationIdentifierGenerator#timeOrdered()}.
+	 *
+	 * @param identifierGenerator must not be {@literal null}.
+	 */
+	public void setIdentifierGenerator(PublicationIdentifierGenerator identifierGenerator) {
+
+		Assert.notNull(identifierGenerator, "PublicationIdentifierGenerator must not be null!");
+
+		this.identifierGenerator = identifierGenerator;
+	}
+
+	/**
+	 * Migrates all publications of the source table.
+	 *
+	 * @return the number of publications migrated.
+	 */
+	public int migrate() {
+
+		Integer result = transactions.execute(__ -> {
+
+			Map<EventKey, UUID> eventIds = new HashMap<>();
+			List<LegacyPublication> chunk = new ArrayList<>(BATCH_SIZE);
+			int[] count = new int[1];
+
+			operations.query(String.format(SQL_STATEMENT_SELECT, sourceTable), (ResultSet rs) -> {
+
+				chunk.add(map(rs));
+
+				if (chunk.size() == BATCH_SIZE) {
+					count[0] += migrate(chunk, eventIds);
+					chunk.clear();
+				}
+			});
+
+			return count[0] + migrate(chunk, eventIds);
+		});
+
+		log.info("Migrated {} publications from {}.", result, sourceTable);
+
+		return result;
+	}
+
+	private int migrate(List<LegacyPublication> publications, Map<EventKey, UUID> eventIds) {
+
+		if (publications.isEmpty()) {
+			return 0;
+		}
+
+		// Only store the events not seen in previous chunks, once for all publications sharing them
+		Map<EventKey, UUID> newEvents = new HashMap<>();
+
+		for (LegacyPublication publication : publications) {
+			if (!eventIds.containsKey(publication.event)) {
+				newEvents.computeIfAbsent(publication.event, it -> identifierGenerator.generate());
+			}
+		}
+
+		operations.batchUpdate(SQL_STATEMENT_INSERT_EVENT, newEvents.keySet(), newEvents.size(), (ps, event) -> {
+
+			ps.setBytes(1, toBytes(newEvents.get(event)));
+			ps.setInt(2, dictionary.getEventTypeKey(event.getType()));
+			ps.setString(3, event.getSerializedEvent());
+			ps.setString(4, SerializedEventDigest.of(event.getSerializedEvent()));
+		});
+
+		eventIds.putAll(newEvents);
+
+		operations.batchUpdate(SQL_STATEMENT_INSERT, publications, publications.size(), (ps, publication) -> {
+
+			ps.setBytes(1, publication.id);
+			ps.setTimestamp(2, publication.publicationDate);
+			ps.setInt(3, dictionary.getListenerKey(PublicationTargetIdentifier.of(publication.listenerId)));
+			ps.setBytes(4, toBytes(eventIds.get(publication.event)));
+			ps.setTimestamp(5, publication.completionDate);
+			ps.setTimestamp(6, publication.publicationDate);
+		});
+
+		return publications.size();
+	}
+
+	private static LegacyPublication map(ResultSet rs) throws SQLException {
+
+		return new LegacyPublication(toIdentifier(rs.getObject("ID")), rs.getTimestamp("PUBLICATION_DATE"),
+				rs.getString("LISTENER_ID"), EventKey.of(rs.getString("EVENT_TYPE"), rs.getString("SERIALIZED_EVENT")),
+				rs.getTimestamp("COMPLETION_DATE"));
+	}
+
+	/**
+	 * Returns the 16-byte binary representation of the given legacy identifier, which was mapped to a binary column of
+	 * potentially larger size, a character one or a native UUID one depending on the database.
+	 *
+	 * @param identifier must not be {@literal null}.
+	 * @return
+	 */
+	private static byte[] toIdentifier(Object identifier) {
+
+		if (identifier instanceof UUID) {
+			return toBytes((UUID) identifier);
+		}
+
+		if (identifier instanceof byte[] && ((byte[]) identifier).length >= 16) {
+
+			ByteBuffer buffer = ByteBuffer.wrap((byte[]) identifier);
+
+			return toBytes(new UUID(buffer.getLong(), buffer.getLong()));
+		}
+
+		return toBytes(UUID.fromString(identifier.toString().trim()));
+	}
+
+	private static byte[] toBytes(UUID uuid) {
+
+		return ByteBuffer.allocate(16) //
+				.putLong(uuid.getMostSignificantBits()) //
+				.putLong(uuid.getLeastSignificantBits()) //
+				.array();
+	}
+
+	@Value
+	private static class LegacyPublication {
+
+		byte[] id;
+		Timestamp publicationDate;
+		String listenerId;
+		EventKey event;
+		@Nullable Timestamp completionDate;
+	}
+
+	@Value(staticConstructor = "of")
+	private static class EventKey {
+
+		String type;
+		String serializedEvent;
+	}
+}
@@ -0,0 +1,987 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jdbc;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.events.CompletableEventPublication;
+import org.springframework.events.EventPublication;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.EventSerializer;
+import org.springframework.events.PublicationIdentifierGenerator;
+import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.events.support.SerializationBuffers;
+import org.springframework.events.support.SerializedEventDigest;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * JDBC based {@link EventPublicationRegistry} using the same table layout as the JPA based one but without the overhead
+ * of a persistence context.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@RequiredArgsConstructor
+class JdbcEventPublicationRegistry implements EventPublicationRegistry, DisposableBean {
+
+	private static final int SHUTDOWN_REPORT_SAMPLE_SIZE = 10;
+	private static final int SHUTDOWN_REPORT_CHUNK_SIZE = 100;
+	private static final Duration DEFAULT_SHUTDOWN_REPORT_TIMEOUT = Duration.ofSeconds(5);
+	private static final int MAX_CLAIM_ATTEMPTS = 3;
+	private static final int MAX_FAILURE_LENGTH = 1000; // see LAST_FAILURE column
+
+	private static final String SQL_STATEMENT_INSERT_EVENT = "INSERT INTO EVENT_PUBLICATION_EVENT " //
+			+ "(ID, EVENT_TYPE_KEY, SERIALIZED_EVENT, SERIALIZED_EVENT_BINARY, SERIALIZED_EVENT_HASH) " //
+			+ "VALUES (?, ?, ?, ?, ?)";
+
+	private static final String SQL_STATEMENT_INSERT = "INSERT INTO EVENT_PUBLICATION " //
+			+ "(ID, PUBLICATION_DATE, LISTENER_KEY, EVENT_ID, NEXT_ATTEMPT_AT) " //
+			+ "VALUES (?, ?, ?, ?, ?)";
+
+	private static final String SQL_STATEMENT_SELECT = "SELECT " //
+			+ "P.ID, P.PUBLICATION_DATE, P.LISTENER_KEY, P.EVENT_ID, E.SERIALIZED_EVENT, E.SERIALIZED_EVENT_BINARY, " //
+			+ "E.EVENT_TYPE_KEY, P.ATTEMPT_COUNT, P.FAILURE_COUNT, P.LAST_FAILURE_DATE, P.LAST_FAILURE " //
+			+ "FROM EVENT_PUBLICATION P JOIN EVENT_PUBLICATION_EVENT E ON E.ID = P.EVENT_ID ";
+
+	// Quarantined publications are excluded from all queries used for republication
+	private static final String SQL_STATEMENT_FIND_INCOMPLETE = SQL_STATEMENT_SELECT //
+			+ "WHERE P.COMPLETION_DATE IS NULL AND P.QUARANTINE_DATE IS NULL";
+
+	private static final String SQL_STATEMENT_FIND_INCOMPLETE_ORDERED = SQL_STATEMENT_FIND_INCOMPLETE //
+			+ " ORDER BY P.PUBLICATION_DATE, P.ID";
+
+	private static final String SQL_STATEMENT_FIND_INCOMPLETE_AFTER = SQL_STATEMENT_FIND_INCOMPLETE //
+			+ " AND (P.PUBLICATION_DATE > ? OR (P.PUBLICATION_DATE = ? AND P.ID > ?))" //
+			+ " ORDER BY P.PUBLICATION_DATE, P.ID";
+
+	// Limited in SQL so that the database doesn't lock more rows than are going to be claimed
+	private static final String SQL_STATEMENT_FIND_CLAIMABLE = "SELECT ID FROM EVENT_PUBLICATION " //
+			+ "WHERE COMPLETION_DATE IS NULL AND QUARANTINE_DATE IS NULL " //
+			+ "AND (LEASE_EXPIRY IS NULL OR LEASE_EXPIRY < ?) " //
+			+ "ORDER BY PUBLICATION_DATE, ID FETCH FIRST ? ROWS ONLY";
+
+	private static final String SQL_STATEMENT_FIND_CLAIMABLE_SKIP_LOCKED = SQL_STATEMENT_FIND_CLAIMABLE //
+			+ " FOR UPDATE SKIP LOCKED";
+
+	// Conditional so that only one of multiple concurrent claims of the same publication succeeds
+	private static final String SQL_STATEMENT_CLAIM = "UPDATE EVENT_PUBLICATION SET CLAIMED_BY = ?, LEASE_EXPIRY = ? " //
+			+ "WHERE ID IN (%s) AND COMPLETION_DATE IS NULL AND QUARANTINE_DATE IS NULL " //
+			+ "AND (LEASE_EXPIRY IS NULL OR LEASE_EXPIRY < ?)";
+
+	private static final String SQL_STATEMENT_FIND_CLAIMED = SQL_STATEMENT_FIND_INCOMPLETE //
+			+ " AND P.CLAIMED_BY = ? AND P.ID IN (%s) ORDER BY P.PUBLICATION_DATE, P.ID";
+
+	// Publications not attempted yet are due at their publication date and only considered past the threshold
+	private static final String SQL_STATEMENT_FIND_DUE = SQL_STATEMENT_FIND_INCOMPLETE //
+			+ " AND P.NEXT_ATTEMPT_AT <= ? AND (P.ATTEMPT_COUNT > 0 OR P.NEXT_ATTEMPT_AT <= ?)" //
+			+ " ORDER BY P.NEXT_ATTEMPT_AT";
+
+	private static final String SQL_STATEMENT_REGISTER_ATTEMPT = "UPDATE EVENT_PUBLICATION " //
+			+ "SET ATTEMPT_COUNT = ATTEMPT_COUNT + 1, NEXT_ATTEMPT_AT = ? " //
+			+ "WHERE ID = ? AND COMPLETION_DATE IS NULL AND QUARANTINE_DATE IS NULL";
+
+	private static final String SQL_STATEMENT_REGISTER_FAILURE = "UPDATE EVENT_PUBLICATION " //
+			+ "SET FAILURE_COUNT = FAILURE_COUNT + 1, LAST_FAILURE_DATE = ?, LAST_FAILURE = ? " //
+			+ "WHERE ID = ? AND COMPLETION_DATE IS NULL";
+
+	// Clearing NEXT_ATTEMPT_AT keeps quarantined publications out of the index range scanned for due ones
+	private static final String SQL_STATEMENT_QUARANTINE = "UPDATE EVENT_PUBLICATION " //
+			+ "SET QUARANTINE_DATE = ?, NEXT_ATTEMPT_AT = NULL " //
+			+ "WHERE ID = ? AND FAILURE_COUNT >= ? AND COMPLETION_DATE IS NULL AND QUARANTINE_DATE IS NULL";
+
+	private static final String SQL_STATEMENT_FIND_QUARANTINED = SQL_STATEMENT_SELECT //
+			+ "WHERE P.COMPLETION_DATE IS NULL AND P.QUARANTINE_DATE IS NOT NULL ORDER BY P.PUBLICATION_DATE, P.ID";
+
+	private static final String SQL_STATEMENT_REQUEUE_ALL = "UPDATE EVENT_PUBLICATION " //
+			+ "SET QUARANTINE_DATE = NULL, FAILURE_COUNT = 0, ATTEMPT_COUNT = 0, NEXT_ATTEMPT_AT = ? " //
+			+ "WHERE COMPLETION_DATE IS NULL AND QUARANTINE_DATE IS NOT NULL";
+
+	private static final String SQL_STATEMENT_REQUEUE_BY_ID = SQL_STATEMENT_REQUEUE_ALL + " AND ID = ?";
+
+	// Quarantined publications are included in the report of the ones left unfinished on shutdown
+	private static final String SQL_STATEMENT_COUNT_INCOMPLETE = "SELECT COUNT(*) FROM EVENT_PUBLICATION " //
+			+ "WHERE COMPLETION_DATE IS NULL";
+
+	private static final String SQL_STATEMENT_FIND_INCOMPLETE_SUMMARIES = "SELECT " //
+			+ "ID, PUBLICATION_DATE, LISTENER_KEY FROM EVENT_PUBLICATION WHERE COMPLETION_DATE IS NULL";
+
+	private static final String SQL_STATEMENT_FIND_INCOMPLETE_SUMMARIES_ORDERED = SQL_STATEMENT_FIND_INCOMPLETE_SUMMARIES //
+			+ " ORDER BY PUBLICATION_DATE, ID";
+
+	private static final String SQL_STATEMENT_FIND_INCOMPLETE_SUMMARIES_AFTER = SQL_STATEMENT_FIND_INCOMPLETE_SUMMARIES //
+			+ " AND (PUBLICATION_DATE > ? OR (PUBLICATION_DATE = ? AND ID > ?))" //
+			+ " ORDER BY PUBLICATION_DATE, ID";
+
+	private static final String SQL_STATEMENT_COUNT_INCOMPLETE_BY_LISTENER = "SELECT " //
+			+ "LISTENER_KEY, COUNT(*) AS INCOMPLETE " //
+			+ "FROM EVENT_PUBLICATION WHERE COMPLETION_DATE IS NULL GROUP BY LISTENER_KEY";
+
+	// Clearing NEXT_ATTEMPT_AT keeps completed publications out of the index range scanned for due ones
+	private static final String SQL_STATEMENT_COMPLETE_BY_ID = "UPDATE EVENT_PUBLICATION " //
+			+ "SET COMPLETION_DATE = ?, NEXT_ATTEMPT_AT = NULL WHERE ID = ? AND COMPLETION_DATE IS NULL";
+
+	// The serialized events are compared in memory as not all databases support comparing LOB columns
+	private static final String SQL_STATEMENT_FIND_INCOMPLETE_BY_EVENT_HASH = "SELECT " //
+			+ "P.ID, E.SERIALIZED_EVENT, E.SERIALIZED_EVENT_BINARY " //
+			+ "FROM EVENT_PUBLICATION P JOIN EVENT_PUBLICATION_EVENT E ON E.ID = P.EVENT_ID " //
+			+ "WHERE E.SERIALIZED_EVENT_HASH = ? AND P.LISTENER_KEY = ? AND P.COMPLETION_DATE IS NULL " //
+			+ "ORDER BY P.PUBLICATION_DATE, P.ID";
+
+	private static final String SQL_STATEMENT_FIND_COMPLETED_BEFORE = "SELECT ID FROM EVENT_PUBLICATION " //
+			+ "WHERE COMPLETION_DATE < ? ORDER BY COMPLETION_DATE";
+
+	private static final String SQL_STATEMENT_ARCHIVE = "INSERT INTO EVENT_PUBLICATION_ARCHIVE " //
+			+ "(ID, PUBLICATION_DATE, LISTENER_KEY, SERIALIZED_EVENT, SERIALIZED_EVENT_BINARY, EVENT_TYPE_KEY, " //
+			+ "COMPLETION_DATE) " //
+			+ "SELECT P.ID, P.PUBLICATION_DATE, P.LISTENER_KEY, E.SERIALIZED_EVENT, E.SERIALIZED_EVENT_BINARY, " //
+			+ "E.EVENT_TYPE_KEY, P.COMPLETION_DATE " //
+			+ "FROM EVENT_PUBLICATION P JOIN EVENT_PUBLICATION_EVENT E ON E.ID = P.EVENT_ID WHERE P.ID IN (%s)";
+
+	private static final String SQL_STATEMENT_FIND_EVENT_IDS = "SELECT DISTINCT EVENT_ID FROM EVENT_PUBLICATION " //
+			+ "WHERE ID IN (%s)";
+
+	private static final String SQL_STATEMENT_DELETE_ALL_BY_ID = "DELETE FROM EVENT_PUBLICATION WHERE ID IN (%s)";
+
+	// Events are shared by the publications to all of their listeners and only deleted with the last one of them
+	private static final String SQL_STATEMENT_DELETE_ORPHANED_EVENTS = "DELETE FROM EVENT_PUBLICATION_EVENT " //
+			+ "WHERE ID IN (%s) AND NOT EXISTS " //
+			+ "(SELECT 1 FROM EVENT_PUBLICATION P WHERE P.EVENT_ID = EVENT_PUBLICATION_EVENT.ID)";
+
+	private final @NonNull JdbcOperations operations;
+	private final @NonNull EventSerializer serializer;
+	private final @NonNull JdbcEventPublicationDictionary dictionary;
+	private final @NonNull PlatformTransactionManager transactionManager;
+	private final @NonNull ClassLoader classLoader;
+
+	private PublicationIdentifierGenerator identifierGenerator = PublicationIdentifierGenerator.timeOrdered();
+	private boolean deleteOnCompletion = false;
+	private boolean reportAllIncompleteOnShutdown = false;
+	private boolean skipLocked = false;
+	private Duration shutdownReportTimeout = DEFAULT_SHUTDOWN_REPORT_TIMEOUT;
+
+	/**
+	 * Configures the {@link PublicationIdentifierGenerator} to create the identifiers of new publications. Defaults to
+	 * {@link PublicationIdentifierGenerator#timeOrdered()}.
+	 *
+	 * @param identifierGenerator must not be {@literal null}.
+	 */
+	public void setIdentifierGenerator(PublicationIdentifierGenerator identifierGenerator) {
+
+		Assert.notNull(identifierGenerator, "PublicationIdentifierGenerator must not be null!");
+
+		this.identifierGenerator = identifierGenerator;
+	}
+
+	/**
+	 * Configures whether to delete publications on completion instead of keeping them around marked as completed.
+	 * Defaults to {@literal false}.
+	 *
+	 * @param deleteOnCompletion
+	 */
+	public void setDeleteOnCompletion(boolean deleteOnCompletion) {
+		this.deleteOnCompletion = deleteOnCompletion;
+	}
+
+	/**
+	 * Configures whether to log all publications left unfinished on shutdown instead of only their number per listener
+	 * and a sample of them. Defaults to {@literal false}.
+	 *
+	 * @param reportAllIncompleteOnShutdown
+	 */
+	public void setReportAllIncompleteOnShutdown(boolean reportAllIncompleteOnShutdown) {
+		this.reportAllIncompleteOnShutdown = reportAllIncompleteOnShutdown;
+	}
+
+	/**
+	 * Configures whether to lock the publications to claim using {@code SELECT … FOR UPDATE SKIP LOCKED}, so that
+	 * concurrent claims skip rows locked by each other instead of competing for the same ones. Only enable this for
+	 * databases supporting that clause. Defaults to {@literal false}, i.e. claiming the publications by conditional
+	 * updates only. Either way, the candidates are limited using the standard {@code FETCH FIRST … ROWS ONLY} clause.
+	 *
+	 * @param skipLocked
+	 * @see #claimIncompletePublications(String, Duration, int)
+	 */
+	public void setSkipLocked(boolean skipLocked) {
+		this.skipLocked = skipLocked;
+	}
+
+	/**
+	 * Configures the maximum time to spend on reporting the publications left unfinished on shutdown. Applied as timeout
+	 * of the read-only transaction the report runs in and thus to all of its queries. Rounded up to full seconds.
+	 * Defaults to 5 seconds.
+	 *
+	 * @param shutdownReportTimeout must not be {@literal null}.
+	 */
+	public void setShutdownReportTimeout(Duration shutdownReportTimeout) {
+
+		Assert.notNull(shutdownReportTimeout, "Shutdown report timeout must not be null!");
+
+		this.shutdownReportTimeout = shutdownReportTimeout;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#store(java.lang.Object, java.util.Collection)
+	 */
+	@Override
+	public Collection<EventPublication> store(Object event, Collection<ApplicationListener<?>> listeners) {
+
+		List<EventPublication> publications = listeners.stream() //
+				.map(it -> PublicationTargetIdentifier.forListener(it)) //
+				.map(it -> CompletableEventPublication.of(event, it, identifierGenerator)) //
+				.collect(Collectors.toList());
+
+		storeAll(publications);
+
+		return publications;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#store(org.springframework.events.EventPublication)
+	 */
+	@Override
+	public void store(EventPublication publication) {
+		storeAll(Collections.singletonList(publication));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#storeAll(java.util.Collection)
+	 */
+	@Override
+	public void storeAll(Collection<EventPublication> publications) {
+
+		Assert.notNull(publications, "Publications must not be null!");
+
+		if (publications.isEmpty()) {
+			return;
+		}
+
+		// Stored and serialized once per event instance as the publications for all listeners of an event share it
+		Map<Object, UUID> eventIds = new IdentityHashMap<>();
+
+		publications.forEach(it -> eventIds.computeIfAbsent(it.getEvent(), __ -> identifierGenerator.generate()));
+
+		operations.batchUpdate(SQL_STATEMENT_INSERT_EVENT, eventIds.keySet(), eventIds.size(), (ps, event) -> {
+
+			SerializedEvent serializedEvent = serialize(event);
+
+			ps.setBytes(1, toBytes(eventIds.get(event)));
+			ps.setInt(2, dictionary.getEventTypeKey(event.getClass().getName()));
+			ps.setString(3, serializedEvent.getText());
+			ps.setBytes(4, serializedEvent.getBinary());
+			ps.setString(5, serializedEvent.getHash());
+		});
+
+		operations.batchUpdate(SQL_STATEMENT_INSERT, publications, publications.size(), (ps, publication) -> {
+
+			Object event = publication.getEvent();
+
+			log.debug("Registering publication of {} with id {} for {}.", //
+					event.getClass().getName(), publication.getIdentifier(), publication.getTargetIdentifier());
+
+			ps.setBytes(1, toBytes(publication.getIdentifier()));
+			ps.setTimestamp(2, Timestamp.from(publication.getPublicationDate()));
+			ps.setInt(3, dictionary.getListenerKey(publication.getTargetIdentifier()));
+			ps.setBytes(4, toBytes(eventIds.get(event)));
+			ps.setTimestamp(5, Timestamp.from(publication.getPublicationDate()));
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#findIncompletePublications()
+	 */
+	@Override
+	public Iterable<EventPublication> findIncompletePublications() {
+		return operations.query(SQL_STATEMENT_FIND_INCOMPLETE, publicationMapper());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#findIncompletePublications(org.springframework.events.EventPublication, int)
+	 */
+	@Override
+	public List<EventPublication> findIncompletePublications(@Nullable EventPublication after, int limit) {
+
+		Assert.isTrue(limit > 0, "Limit must be greater than zero!");
+
+		return operations.query(connection -> {
+
+			PreparedStatement statement = connection
+					.prepareStatement(after == null ? SQL_STATEMENT_FIND_INCOMPLETE_ORDERED : SQL_STATEMENT_FIND_INCOMPLETE_AFTER);
+
+			// Portable way of limiting the result instead of LIMIT / FETCH FIRST
+			statement.setMaxRows(limit);
+			statement.setFetchSize(limit);
+
+			if (after != null) {
+
+				Timestamp publicationDate = Timestamp.from(after.getPublicationDate());
+
+				statement.setTimestamp(1, publicationDate);
+				statement.setTimestamp(2, publicationDate);
+				statement.setBytes(3, toBytes(after.getIdentifier()));
+			}
+
+			return statement;
+
+		}, publicationMapper());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#claimIncompletePublications(java.lang.String, java.time.Duration, int)
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public List<EventPublication> claimIncompletePublications(String owner, Duration lease, int limit) {
+
+		Assert.hasText(owner, "Owner must not be null or empty!");
+		Assert.notNull(lease, "Lease must not be null!");
+		Assert.isTrue(limit > 0, "Limit must be greater than zero!");
+
+		Timestamp now = Timestamp.from(Instant.now());
+		Timestamp leaseExpiry = Timestamp.from(now.toInstant().plus(lease));
+
+		String findClaimable = skipLocked ? SQL_STATEMENT_FIND_CLAIMABLE_SKIP_LOCKED : SQL_STATEMENT_FIND_CLAIMABLE;
+		List<byte[]> candidates;
+		int claimed = 0, attempts = 0;
+
+		// Retried a few times in case all candidates have been claimed concurrently before giving up
+		do {
+
+			candidates = operations.query(findClaimable, (rs, __) -> rs.getBytes("ID"), now, limit);
+
+			if (candidates.isEmpty()) {
+				return Collections.emptyList();
+			}
+
+			List<Object> parameters = new ArrayList<>(candidates.size() + 3);
+			parameters.add(owner);
+			parameters.add(leaseExpiry);
+			parameters.addAll(candidates);
+			parameters.add(now);
+
+			claimed = operations.update(String.format(SQL_STATEMENT_CLAIM, placeholders(candidates)), //
+					parameters.toArray());
+
+		} while (claimed == 0 && ++attempts < MAX_CLAIM_ATTEMPTS);
+
+		if (claimed == 0) {
+			return Collections.emptyList();
+		}
+
+		log.debug("Claimed {} publications for {}.", claimed, owner);
+
+		// Candidates claimed concurrently by other owners in the meantime are filtered by the claim owner
+		List<Object> parameters = new ArrayList<>(candidates.size() + 1);
+		parameters.add(owner);
+		parameters.addAll(candidates);
+
+		return operations.query(String.format(SQL_STATEMENT_FIND_CLAIMED, placeholders(candidates)), publicationMapper(),
+				parameters.toArray());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#findDuePublications(java.time.Instant, java.time.Duration, int)
+	 */
+	@Override
+	public List<EventPublication> findDuePublications(Instant dueAt, Duration threshold, int limit) {
+
+		Assert.notNull(dueAt, "Due date must not be null!");
+		Assert.notNull(threshold, "Threshold must not be null!");
+		Assert.isTrue(!threshold.isNegative(), "Threshold must not be negative!");
+		Assert.isTrue(limit > 0, "Limit must be greater than zero!");
+
+		return operations.query(connection -> {
+
+			PreparedStatement statement = connection.prepareStatement(SQL_STATEMENT_FIND_DUE);
+			statement.setMaxRows(limit);
+			statement.setFetchSize(limit);
+			statement.setTimestamp(1, Timestamp.from(dueAt));
+			statement.setTimestamp(2, Timestamp.from(dueAt.minus(threshold)));
+
+			return statement;
+
+		}, publicationMapper());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#registerAttempt(java.util.UUID, java.time.Instant)
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public void registerAttempt(UUID identifier, Instant nextAttempt) {
+
+		Assert.notNull(identifier, "Publication identifier must not be null!");
+		Assert.notNull(nextAttempt, "Next attempt must not be null!");
+
+		operations.update(SQL_STATEMENT_REGISTER_ATTEMPT, Timestamp.from(nextAttempt), toBytes(identifier));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#registerFailure(java.util.UUID, java.lang.String, int)
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public boolean registerFailure(UUID identifier, String failure, int quarantineThreshold) {
+
+		Assert.notNull(identifier, "Publication identifier must not be null!");
+		Assert.notNull(failure, "Failure must not be null!");
+		Assert.isTrue(quarantineThreshold >= 0, "Quarantine threshold must not be negative!");
+
+		Timestamp now = Timestamp.from(Instant.now());
+		byte[] id = toBytes(identifier);
+		String truncated = failure.length() > MAX_FAILURE_LENGTH ? failure.substring(0, MAX_FAILURE_LENGTH) : failure;
+
+		operations.update(SQL_STATEMENT_REGISTER_FAILURE, now, truncated, id);
+
+		// Separate conditional update as not all databases evaluate the SET clause against the original row
+		boolean quarantined = quarantineThreshold > 0
+				&& operations.update(SQL_STATEMENT_QUARANTINE, now, id, quarantineThreshold) > 0;
+
+		if (quarantined) {
+			log.debug("Quarantined publication with id {}.", identifier);
+		}
+
+		return quarantined;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#findQuarantinedPublications(int)
+	 */
+	@Override
+	public List<EventPublication> findQuarantinedPublications(int limit) {
+
+		Assert.isTrue(limit > 0, "Limit must be greater than zero!");
+
+		return operations.query(connection -> {
+
+			PreparedStatement statement = connection.prepareStatement(SQL_STATEMENT_FIND_QUARANTINED);
+			statement.setMaxRows(limit);
+			statement.setFetchSize(limit);
+
+			return statement;
+
+		}, publicationMapper());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#requeueQuarantinedPublications(java.util.Collection)
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public int requeueQuarantinedPublications(Collection<UUID> identifiers) {
+
+		Assert.notNull(identifiers, "Publication identifiers must not be null!");
+
+		Timestamp now = Timestamp.from(Instant.now());
+
+		// Updated one by one as batch updates don't reliably report the rows affected per statement
+		int requeued = identifiers.stream() //
+				.mapToInt(it -> operations.update(SQL_STATEMENT_REQUEUE_BY_ID, now, toBytes(it))) //
+				.sum();
+
+		log.debug("Requeued {} quarantined publications.", requeued);
+
+		return requeued;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#requeueQuarantinedPublications()
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public int requeueQuarantinedPublications() {
+
+		int requeued = operations.update(SQL_STATEMENT_REQUEUE_ALL, Timestamp.from(Instant.now()));
+
+		log.debug("Requeued {} quarantined publications.", requeued);
+
+		return requeued;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#markCompleted(java.lang.Object, org.springframework.events.PublicationTargetIdentifier)
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public void markCompleted(Object event, PublicationTargetIdentifier listener) {
+
+		Assert.notNull(event, "Domain event must not be null!");
+		Assert.notNull(listener, "Listener identifier must not be null!");
+
+		SerializedEvent serializedEvent = serialize(event);
+		int listenerKey = dictionary.getListenerKey(listener);
+
+		// Equal events published multiple times result in a publication each, of which only the oldest is completed
+		byte[] identifier = operations.query(SQL_STATEMENT_FIND_INCOMPLETE_BY_EVENT_HASH, rs -> {
+
+			while (rs.next()) {
+
+				byte[] binary = rs.getBytes("SERIALIZED_EVENT_BINARY");
+				Object stored = binary != null ? binary : rs.getString("SERIALIZED_EVENT");
+
+				if (Objects.deepEquals(serializedEvent.getValue(), stored)) {
+					return rs.getBytes("ID");
+				}
+			}
+
+			return null;
+
+		}, serializedEvent.getHash(), listenerKey);
+
+		if (identifier == null) {
+			return;
+		}
+
+		if (deleteOnCompletion) {
+			deletePublications(Collections.singletonList(identifier));
+		} else {
+			operations.update(SQL_STATEMENT_COMPLETE_BY_ID, Timestamp.from(Instant.now()), identifier);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#markCompleted(java.util.UUID)
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public void markCompleted(UUID identifier) {
+
+		Assert.notNull(identifier, "Publication identifier must not be null!");
+
+		int updated = deleteOnCompletion //
+				? deletePublications(Collections.singletonList(toBytes(identifier))) //
+				: operations.update(SQL_STATEMENT_COMPLETE_BY_ID, Timestamp.from(Instant.now()), toBytes(identifier));
+
+		if (updated > 0) {
+			log.debug("Marking publication with id {} completed.", identifier);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#markCompleted(java.util.Collection)
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public void markCompleted(Collection<UUID> identifiers) {
+
+		Assert.notNull(identifiers, "Publication identifiers must not be null!");
+
+		if (identifiers.isEmpty()) {
+			return;
+		}
+
+		if (deleteOnCompletion) {
+
+			deletePublications(identifiers.stream() //
+					.map(JdbcEventPublicationRegistry::toBytes) //
+					.collect(Collectors.toList()));
+
+		} else {
+
+			Timestamp completionDate = Timestamp.from(Instant.now());
+
+			operations.batchUpdate(SQL_STATEMENT_COMPLETE_BY_ID, identifiers, identifiers.size(), (ps, identifier) -> {
+				ps.setTimestamp(1, completionDate);
+				ps.setBytes(2, toBytes(identifier));
+			});
+		}
+
+		log.debug("Marked {} publications completed.", identifiers.size());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#deleteCompletedPublications(java.time.Instant, int, boolean)
+	 */
+	@Override
+	@Transactional
+	public int deleteCompletedPublications(Instant completedBefore, int limit, boolean archive) {
+
+		Assert.notNull(completedBefore, "Completion date must not be null!");
+		Assert.isTrue(limit > 0, "Limit must be greater than zero!");
+
+		List<byte[]> identifiers = operations.query(connection -> {
+
+			PreparedStatement statement = connection.prepareStatement(SQL_STATEMENT_FIND_COMPLETED_BEFORE);
+			statement.setMaxRows(limit);
+			statement.setTimestamp(1, Timestamp.from(completedBefore));
+
+			return statement;
+
+		}, (rs, __) -> rs.getBytes("ID"));
+
+		if (identifiers.isEmpty()) {
+			return 0;
+		}
+
+		if (archive) {
+			operations.update(String.format(SQL_STATEMENT_ARCHIVE, placeholders(identifiers)), identifiers.toArray());
+		}
+
+		return deletePublications(identifiers);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() {
+
+		TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+		transactions.setReadOnly(true);
+		transactions.setTimeout(toTimeoutSeconds(shutdownReportTimeout));
+
+		try {
+
+			// The transaction's timeout is applied to the statements of the report, cancelling them once it has elapsed
+			transactions.executeWithoutResult(__ -> reportIncompletePublications());
+
+		} catch (TransactionTimedOutException | QueryTimeoutException o_O) {
+			log.warn("Reporting publications left unfinished did not finish within {}!", shutdownReportTimeout);
+		} catch (RuntimeException o_O) {
+			log.warn("Reporting publications left unfinished failed!", o_O);
+		}
+	}
+
+	/**
+	 * Deletes the publications with the given identifiers along with the events not referred to by any other publication
+	 * anymore.
+	 *
+	 * @param identifiers must not be {@literal null}.
+	 * @return the number of publications deleted.
+	 */
+	private int deletePublications(List<byte[]> identifiers) {
+
+		String placeholders = placeholders(identifiers);
+		Object[] parameters = identifiers.toArray();
+
+		List<byte[]> eventIds = operations.query(String.format(SQL_STATEMENT_FIND_EVENT_IDS, placeholders),
+				(rs, __) -> rs.getBytes("EVENT_ID"), parameters);
+
+		int deleted = operations.update(String.format(SQL_STATEMENT_DELETE_ALL_BY_ID, placeholders), parameters);
+
+		deleteOrphanedEvents(eventIds);
+
+		return deleted;
+	}
+
+	private void deleteOrphanedEvents(List<byte[]> eventIds) {
+
+		if (eventIds.isEmpty()) {
+			return;
+		}
+
+		operations.update(String.format(SQL_STATEMENT_DELETE_ORPHANED_EVENTS, placeholders(eventIds)),
+				eventIds.toArray());
+	}
+
+	private void reportIncompletePublications() {
+
+		Long outstanding = operations.queryForObject(SQL_STATEMENT_COUNT_INCOMPLETE, Long.class);
+
+		if (outstanding == null || outstanding == 0) {
+
+			log.info("No publications outstanding!");
+			return;
+		}
+
+		log.info("Shutting down with {} publications left unfinished:", outstanding);
+
+		RowCallbackHandler logIncompleteByListener = rs -> log.info("\t{} - {}", //
+				dictionary.getListenerId(rs.getInt("LISTENER_KEY")), rs.getLong("INCOMPLETE"));
+
+		operations.query(SQL_STATEMENT_COUNT_INCOMPLETE_BY_LISTENER, logIncompleteByListener);
+
+		if (!reportAllIncompleteOnShutdown) {
+
+			log.info("First {} of them:", Math.min(outstanding, SHUTDOWN_REPORT_SAMPLE_SIZE));
+
+			findIncompleteSummaries(null, SHUTDOWN_REPORT_SAMPLE_SIZE).forEach(this::logIncomplete);
+
+			return;
+		}
+
+		List<PublicationSummary> chunk = findIncompleteSummaries(null, SHUTDOWN_REPORT_CHUNK_SIZE);
+
+		while (!chunk.isEmpty()) {
+
+			chunk.forEach(this::logIncomplete);
+			chunk = findIncompleteSummaries(chunk.get(chunk.size() - 1), SHUTDOWN_REPORT_CHUNK_SIZE);
+		}
+	}
+
+	/**
+	 * Returns the identifiers and listener keys of the incomplete publications, including quarantined ones, ordered after
+	 * the given one. Doesn't read the events.
+	 *
+	 * @param after can be {@literal null}.
+	 * @param limit the maximum number of publications to return.
+	 * @return
+	 */
+	private List<PublicationSummary> findIncompleteSummaries(@Nullable PublicationSummary after, int limit) {
+
+		String query = after == null //
+				? SQL_STATEMENT_FIND_INCOMPLETE_SUMMARIES_ORDERED //
+				: SQL_STATEMENT_FIND_INCOMPLETE_SUMMARIES_AFTER;
+
+		return operations.query(connection -> {
+
+			PreparedStatement statement = connection.prepareStatement(query);
+			statement.setMaxRows(limit);
+			statement.setFetchSize(limit);
+
+			if (after != null) {
+
+				statement.setTimestamp(1, after.getPublicationDate());
+				statement.setTimestamp(2, after.getPublicationDate());
+				statement.setBytes(3, after.getId());
+			}
+
+			return statement;
+
+		}, (rs, __) -> PublicationSummary.of(rs.getBytes("ID"), rs.getTimestamp("PUBLICATION_DATE"),
+				rs.getInt("LISTENER_KEY")));
+	}
+
+	private void logIncomplete(PublicationSummary publication) {
+		log.info("\t{} - {}", toUuid(publication.getId()), dictionary.getListenerId(publication.getListenerKey()));
+	}
+
+	private static int toTimeoutSeconds(Duration timeout) {
+		return (int) Math.max(1, timeout.getSeconds() + (timeout.getNano() > 0 ? 1 : 0));
+	}
+
+	private RowMapper<EventPublication> publicationMapper() {
+
+		// Shared by the publications read so that events published to multiple listeners are deserialized only once
+		Map<UUID, Object> deserializedEvents = new ConcurrentHashMap<>();
+
+		return (rs, __) -> map(rs, deserializedEvents);
+	}
+
+	private EventPublication map(ResultSet rs, Map<UUID, Object> deserializedEvents) throws SQLException {
+
+		Timestamp lastFailureDate = rs.getTimestamp("LAST_FAILURE_DATE");
+		byte[] binary = rs.getBytes("SERIALIZED_EVENT_BINARY");
+
+		return JdbcEventPublication.of(toUuid(rs.getBytes("ID")), //
+				rs.getTimestamp("PUBLICATION_DATE").toInstant(), //
+				dictionary.getListenerId(rs.getInt("LISTENER_KEY")), //
+				toUuid(rs.getBytes("EVENT_ID")), //
+				binary != null ? binary : rs.getString("SERIALIZED_EVENT"), //
+				dictionary.getEventType(rs.getInt("EVENT_TYPE_KEY")), //
+				rs.getInt("ATTEMPT_COUNT"), //
+				rs.getInt("FAILURE_COUNT"), //
+				lastFailureDate == null ? null : lastFailureDate.toInstant(), //
+				rs.getString("LAST_FAILURE"), //
+				serializer, classLoader, deserializedEvents);
+	}
+
+	private SerializedEvent serialize(Object event) {
+
+		Object serialized = SerializationBuffers.serialize(serializer, event);
+		String hash = SerializedEventDigest.of(serialized);
+
+		// Binary serialized events are stored as is, all others in their String representation
+		return serialized instanceof byte[] //
+				? SerializedEvent.of(null, (byte[]) serialized, hash) //
+				: SerializedEvent.of(serialized.toString(), null, hash);
+	}
+
+	private static String placeholders(Collection<?> values) {
+		return String.join(", ", Collections.nCopies(values.size(), "?"));
+	}
+
+	private static byte[] toBytes(UUID uuid) {
+
+		return ByteBuffer.allocate(16) //
+				.putLong(uuid.getMostSignificantBits()) //
+				.putLong(uuid.getLeastSignificantBits()) //
+				.array();
+	}
+
+	private static UUID toUuid(byte[] bytes) {
+
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+		return new UUID(buffer.getLong(), buffer.getLong());
+	}
+
+	@Value(staticConstructor = "of")
+	private static class PublicationSummary {
+
+		byte[] id;
+		Timestamp publicationDate;
+		int listenerKey;
+	}
+
+	@Value(staticConstructor = "of")
+	private static class SerializedEvent {
+
+		@Nullable String text;
+		@Nullable byte[] binary;
+		String hash;
+
+		Object getValue() {
+			return binary != null ? binary : text;
+		}
+	}
+
+	@EqualsAndHashCode
+	@RequiredArgsConstructor(staticName = "of")
+	static class JdbcEventPublication implements EventPublication {
+
+		private final UUID identifier;
+		private final Instant publicationDate;
+		private final PublicationTargetIdentifier targetIdentifier;
+		private final UUID eventId;
+		private final Object serializedEvent;
+		private final String eventType;
+		private final int attemptCount;
+		private final int failureCount;
+		private final @Nullable Instant lastFailureDate;
+		private final @Nullable String lastFailure;
+
+		private final @EqualsAndHashCode.Exclude EventSerializer serializer;
+		private final @EqualsAndHashCode.Exclude ClassLoader classLoader;
+		private final @EqualsAndHashCode.Exclude Map<UUID, Object> deserializedEvents;
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.events.EventPublication#getIdentifier()
+		 */
+		@Override
+		public UUID getIdentifier() {
+			return identifier;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.events.EventPublication#getEvent()
+		 */
+		@Override
+		public Object getEvent() {
+
+			return deserializedEvents.computeIfAbsent(eventId,
+					__ -> serializer.deserialize(serializedEvent, ClassUtils.resolveClassName(eventType, classLoader)));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.events.EventPublication#getTargetIdentifier()
+		 */
+		@Override
+		public PublicationTargetIdentifier getTargetIdentifier() {
+			return targetIdentifier;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.events.EventPublication#getPublicationDate()
+		 */
+		@Override
+		public Instant getPublicationDate() {
+			return publicationDate;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.events.EventPublication#getAttemptCount()
+		 */
+		@Override
+		public int getAttemptCount() {
+			return attemptCount;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.events.EventPublication#getFailureCount()
+		 */
+		@Override
+		public int getFailureCount() {
+			return failureCount;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.events.EventPublication#getLastFailureDate()
+		 */
+		@Override
+		public Optional<Instant> getLastFailureDate() {
+			return Optional.ofNullable(lastFailureDate);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.events.EventPublication#getLastFailure()
+		 */
+		@Override
+		public Optional<String> getLastFailure() {
+			return Optional.ofNullable(lastFailure);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+CREATE TABLE IF NOT EXISTS EVENT_PUBLICATION_LISTENER (
+  ID INTEGER GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+  LISTENER_ID VARCHAR(512) NOT NULL,
+  PRIMARY KEY (ID),
+  UNIQUE (LISTENER_ID)
+);
+
+CREATE TABLE IF NOT EXISTS EVENT_PUBLICATION_EVENT_TYPE (
+  ID INTEGER GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+  EVENT_TYPE VARCHAR(512) NOT NULL,
+  PRIMARY KEY (ID),
+  UNIQUE (EVENT_TYPE)
+);
+
+CREATE TABLE IF NOT EXISTS EVENT_PUBLICATION_EVENT (
+  ID BINARY(16) NOT NULL,
+  EVENT_TYPE_KEY INTEGER NOT NULL,
+  SERIALIZED_EVENT CLOB,
+  SERIALIZED_EVENT_BINARY BLOB,
+  SERIALIZED_EVENT_HASH CHAR(64) NOT NULL,
+  PRIMARY KEY (ID),
+  FOREIGN KEY (EVENT_TYPE_KEY) REFERENCES EVENT_PUBLICATION_EVENT_TYPE (ID)
+);
+
+CREATE INDEX IF NOT EXISTS EVENT_PUBLICATION_EVENT_BY_HASH_IDX ON EVENT_PUBLICATION_EVENT (SERIALIZED_EVENT_HASH);
+
+CREATE TABLE IF NOT EXISTS EVENT_PUBLICATION (
+  ID BINARY(16) NOT NULL,
+  PUBLICATION_DATE TIMESTAMP NOT NULL,
+  LISTENER_KEY INTEGER NOT NULL,
+  EVENT_ID BINARY(16) NOT NULL,
+  COMPLETION_DATE TIMESTAMP,
+  ATTEMPT_COUNT INTEGER DEFAULT 0 NOT NULL,
+  NEXT_ATTEMPT_AT TIMESTAMP,
+  CLAIMED_BY VARCHAR(255),
+  LEASE_EXPIRY TIMESTAMP,
+  FAILURE_COUNT INTEGER DEFAULT 0 NOT NULL,
+  LAST_FAILURE_DATE TIMESTAMP,
+  LAST_FAILURE VARCHAR(1000),
+  QUARANTINE_DATE TIMESTAMP,
+  PRIMARY KEY (ID),
+  FOREIGN KEY (LISTENER_KEY) REFERENCES EVENT_PUBLICATION_LISTENER (ID),
+  FOREIGN KEY (EVENT_ID) REFERENCES EVENT_PUBLICATION_EVENT (ID)
+);
+
+CREATE INDEX IF NOT EXISTS EVENT_PUBLICATION_BY_EVENT_IDX ON EVENT_PUBLICATION (EVENT_ID, LISTENER_KEY);
+
+CREATE INDEX IF NOT EXISTS EVENT_PUBLICATION_BY_COMPLETION_DATE_IDX ON EVENT_PUBLICATION (COMPLETION_DATE);
+
+CREATE INDEX IF NOT EXISTS EVENT_PUBLICATION_BY_NEXT_ATTEMPT_IDX ON EVENT_PUBLICATION (NEXT_ATTEMPT_AT);
+
+CREATE INDEX IF NOT EXISTS EVENT_PUBLICATION_BY_QUARANTINE_DATE_IDX ON EVENT_PUBLICATION (COMPLETION_DATE, QUARANTINE_DATE, PUBLICATION_DATE);
+
+CREATE TABLE IF NOT EXISTS EVENT_PUBLICATION_ARCHIVE (
+  ID BINARY(16) NOT NULL,
+  PUBLICATION_DATE TIMESTAMP NOT NULL,
+  LISTENER_KEY INTEGER NOT NULL,
+  SERIALIZED_EVENT CLOB,
+  SERIALIZED_EVENT_BINARY BLOB,
+  EVENT_TYPE_KEY INTEGER NOT NULL,
+  COMPLETION_DATE TIMESTAMP,
+  PRIMARY KEY (ID)
+);
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jdbc;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.events.EventPublication;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.EventSerializer;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Integration tests for claiming publications via {@link JdbcEventPublicationRegistry} from multiple application
+ * contexts sharing a database.
+ *
+ * @author Oliver Drotbohm
+ */
+class JdbcEventPublicationClaimsIntegrationTest {
+
+	static final int EVENTS = 100;
+	static final int CHUNK_SIZE = 10;
+
+	EmbeddedDatabase database;
+	List<AnnotationConfigApplicationContext> contexts = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+
+		this.database = new EmbeddedDatabaseBuilder() //
+				.setType(EmbeddedDatabaseType.HSQL) //
+				.generateUniqueName(true) //
+				.addScript("org/springframework/events/jdbc/schema.sql") //
+				.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+
+		contexts.forEach(AnnotationConfigApplicationContext::close);
+		database.shutdown();
+	}
+
+	@Test
+	void partitionsIncompletePublicationsAmongConcurrentClaims() throws Exception {
+
+		EventPublicationRegistry first = createRegistry(), second = createRegistry();
+		List<ApplicationListener<?>> listeners = Arrays.asList(listenerFor("first"), listenerFor("second"));
+
+		for (int i = 0; i < EVENTS; i++) {
+			first.store("event-" + i, listeners);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		try {
+
+			Future<List<UUID>> claimedByFirst = executor.submit(claimAll(first, "first"));
+			Future<List<UUID>> claimedBySecond = executor.submit(claimAll(second, "second"));
+
+			List<UUID> firstClaims = claimedByFirst.get(30, TimeUnit.SECONDS);
+			List<UUID> secondClaims = claimedBySecond.get(30, TimeUnit.SECONDS);
+
+			assertThat(firstClaims).doesNotHaveDuplicates().doesNotContainAnyElementsOf(secondClaims);
+			assertThat(secondClaims).doesNotHaveDuplicates();
+			assertThat(firstClaims.size() + secondClaims.size()).isEqualTo(EVENTS * listeners.size());
+
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(first.claimIncompletePublications("third", Duration.ofMinutes(5), CHUNK_SIZE)).isEmpty();
+	}
+
+	private EventPublicationRegistry createRegistry() {
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.registerBean(DataSource.class, () -> database);
+		context.register(TestConfiguration.class);
+		context.refresh();
+
+		contexts.add(context);
+
+		return context.getBean(EventPublicationRegistry.class);
+	}
+
+	private static Callable<List<UUID>> claimAll(EventPublicationRegistry registry, String owner) {
+
+		return () -> {
+
+			List<UUID> claimed = new ArrayList<>();
+
+			while (true) {
+
+				List<EventPublication> chunk;
+
+				try {
+					chunk = registry.claimIncompletePublications(owner, Duration.ofMinutes(5), CHUNK_SIZE);
+				} catch (TransientDataAccessException o_O) {
+					continue; // Concurrent claim rolled back, nothing has been claimed
+				}
+
+				if (chunk.isEmpty()) {
+					return claimed;
+				}
+
+				chunk.forEach(it -> claimed.add(it.getIdentifier()));
+			}
+		};
+	}
+
+	private static ApplicationListener<?> listenerFor(String methodName) {
+
+		return new ApplicationListenerMethodAdapter("listeners", Listeners.class,
+				ReflectionUtils.findMethod(Listeners.class, methodName, String.class));
+	}
+
+	@Configuration
+	@EnableTransactionManagement
+	@Import(JdbcEventPublicationConfiguration.class)
+	static class TestConfiguration {
+
+		@Bean
+		DataSourceTransactionManager transactionManager(DataSource dataSource) {
+			return new DataSourceTransactionManager(dataSource);
+		}
+
+		@Bean
+		EventSerializer eventSerializer() {
+
+			return new EventSerializer() {
+
+				@Override
+				public Object serialize(Object event) {
+					return event;
+				}
+
+				@Override
+				public Object deserialize(Object serialized, Class<?> type) {
+					return serialized.toString();
+				}
+			};
+		}
+	}
+
+	static class Listeners {
+
+		@TransactionalEventListener
+		void first(String event) {}
+
+		@TransactionalEventListener
+		void second(String event) {}
+	}
+}
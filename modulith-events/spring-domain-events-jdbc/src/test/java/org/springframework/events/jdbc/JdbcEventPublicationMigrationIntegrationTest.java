@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jdbc;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.events.EventPublication;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.events.jdbc.JdbcEventPublicationRegistryIntegrationTest.SomeEvent;
+import org.springframework.events.jdbc.JdbcEventPublicationRegistryIntegrationTest.SomeEventListeners;
+import org.springframework.events.jdbc.JdbcEventPublicationRegistryIntegrationTest.TestConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Integration tests for {@link JdbcEventPublicationMigration}.
+ *
+ * @author Oliver Drotbohm
+ */
+class JdbcEventPublicationMigrationIntegrationTest {
+
+	PublicationTargetIdentifier first = identifierFor("first");
+	PublicationTargetIdentifier second = identifierFor("second");
+
+	AnnotationConfigApplicationContext context;
+	EventPublicationRegistry registry;
+	JdbcTemplate template;
+
+	@BeforeEach
+	void setUp() {
+
+		this.context = new AnnotationConfigApplicationContext(TestConfiguration.class);
+		this.registry = context.getBean(EventPublicationRegistry.class);
+		this.template = new JdbcTemplate(context.getBean(DataSource.class));
+
+		// Table as derived from the JpaEventPublication entity of previous versions
+		template.execute("CREATE TABLE JPA_EVENT_PUBLICATION (ID BINARY(255) NOT NULL, PUBLICATION_DATE TIMESTAMP, " //
+				+ "LISTENER_ID VARCHAR(255), SERIALIZED_EVENT VARCHAR(255), EVENT_TYPE VARCHAR(255), " //
+				+ "COMPLETION_DATE TIMESTAMP, PRIMARY KEY (ID))");
+	}
+
+	@AfterEach
+	void tearDown() {
+		context.close();
+	}
+
+	@Test
+	void migratesPublicationsStoringEachEventOnce() {
+
+		UUID firstId = insertLegacyPublication(first, "value", null);
+		UUID secondId = insertLegacyPublication(second, "value", null);
+		insertLegacyPublication(first, "other", Instant.now());
+
+		assertThat(new JdbcEventPublicationMigration(context.getBean(DataSource.class)).migrate()).isEqualTo(3);
+
+		assertThat(count("EVENT_PUBLICATION")).isEqualTo(3);
+		assertThat(count("EVENT_PUBLICATION_EVENT")).isEqualTo(2);
+		assertThat(count("EVENT_PUBLICATION_LISTENER")).isEqualTo(2);
+		assertThat(count("EVENT_PUBLICATION_EVENT_TYPE")).isEqualTo(1);
+
+		assertThat(registry.findIncompletePublications()).hasSize(2).allSatisfy(it -> {
+			assertThat(it.getEvent()).isEqualTo(new SomeEvent("value"));
+		}).extracting(EventPublication::getIdentifier).containsExactlyInAnyOrder(firstId, secondId);
+	}
+
+	@Test
+	void migratedPublicationsCanBeCompletedByEvent() {
+
+		insertLegacyPublication(first, "value", null);
+		insertLegacyPublication(second, "value", null);
+
+		new JdbcEventPublicationMigration(context.getBean(DataSource.class)).migrate();
+
+		registry.markCompleted(new SomeEvent("value"), first);
+
+		assertThat(registry.findIncompletePublications()) //
+				.extracting(EventPublication::getTargetIdentifier) //
+				.containsExactly(second);
+	}
+
+	private UUID insertLegacyPublication(PublicationTargetIdentifier listener, String serializedEvent,
+			Instant completionDate) {
+
+		UUID id = UUID.randomUUID();
+		byte[] bytes = ByteBuffer.allocate(16) //
+				.putLong(id.getMostSignificantBits()) //
+				.putLong(id.getLeastSignificantBits()) //
+				.array();
+
+		template.update("INSERT INTO JPA_EVENT_PUBLICATION VALUES (?, ?, ?, ?, ?, ?)", bytes,
+				Timestamp.from(Instant.now()), listener.toString(), serializedEvent, SomeEvent.class.getName(),
+				completionDate == null ? null : Timestamp.from(completionDate));
+
+		return id;
+	}
+
+	private int count(String table) {
+		return template.queryForObject("select count(*) from " + table, Integer.class);
+	}
+
+	private static PublicationTargetIdentifier identifierFor(String methodName) {
+		return PublicationTargetIdentifier
+				.forMethod(ReflectionUtils.findMethod(SomeEventListeners.class, methodName, SomeEvent.class));
+	}
+}
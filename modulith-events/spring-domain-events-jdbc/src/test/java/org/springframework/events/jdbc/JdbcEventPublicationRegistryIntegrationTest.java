@@ -0,0 +1,358 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jdbc;
+
+import static org.assertj.core.api.Assertions.*;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
+import org.springframework.events.EventPublication;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.EventSerializer;
+import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Integration tests for {@link JdbcEventPublicationRegistry}.
+ *
+ * @author Oliver Drotbohm
+ */
+class JdbcEventPublicationRegistryIntegrationTest {
+
+	AnnotationConfigApplicationContext context;
+	EventPublicationRegistry registry;
+
+	List<ApplicationListener<?>> listeners = Arrays.asList(listenerFor("first"), listenerFor("second"));
+
+	@BeforeEach
+	void setUp() {
+
+		this.context = new AnnotationConfigApplicationContext(TestConfiguration.class);
+		this.registry = context.getBean(EventPublicationRegistry.class);
+	}
+
+	@AfterEach
+	void tearDown() {
+		context.close();
+	}
+
+	@Test
+	void storesPublicationsForAllListeners() {
+
+		SomeEvent event = new SomeEvent("value");
+
+		Collection<EventPublication> publications = registry.store(event, listeners);
+
+		assertThat(publications).hasSize(2);
+		assertThat(registry.findIncompletePublications()).hasSize(2).allSatisfy(it -> {
+			assertThat(it.getEvent()).isEqualTo(event);
+			assertThat(publications).extracting(EventPublication::getIdentifier).contains(it.getIdentifier());
+		});
+	}
+
+	@Test
+	void marksPublicationCompletedByIdentifier() {
+
+		EventPublication publication = registry.store(new SomeEvent("value"), listeners).iterator().next();
+
+		registry.markCompleted(publication.getIdentifier());
+
+		assertThat(registry.findIncompletePublications()).hasSize(1) //
+				.noneMatch(it -> it.getIdentifier().equals(publication.getIdentifier()));
+	}
+
+	@Test
+	void marksPublicationCompletedByEventAndListener() {
+
+		SomeEvent event = new SomeEvent("value");
+		EventPublication publication = registry.store(event, listeners).iterator().next();
+
+		registry.markCompleted(event, publication.getTargetIdentifier());
+
+		assertThat(registry.findIncompletePublications()).hasSize(1) //
+				.noneMatch(it -> it.getTargetIdentifier().equals(publication.getTargetIdentifier()));
+	}
+
+	@Test
+	void storesAndCompletesEventsOfUnboundedSize() {
+
+		StringBuilder builder = new StringBuilder();
+
+		while (builder.length() < 64 * 1024) {
+			builder.append("value");
+		}
+
+		SomeEvent event = new SomeEvent(builder.toString());
+		EventPublication publication = registry.store(event, listeners).iterator().next();
+
+		assertThat(registry.findIncompletePublications()).hasSize(2) //
+				.allSatisfy(it -> assertThat(it.getEvent()).isEqualTo(event));
+
+		registry.markCompleted(event, publication.getTargetIdentifier());
+
+		assertThat(registry.findIncompletePublications()).hasSize(1) //
+				.noneMatch(it -> it.getIdentifier().equals(publication.getIdentifier()));
+	}
+
+	@Test
+	void completesOldestPublicationOfEqualEventsOnly() {
+
+		SomeEvent event = new SomeEvent("value");
+		List<ApplicationListener<?>> listener = listeners.subList(0, 1);
+
+		EventPublication first = registry.store(event, listener).iterator().next();
+		EventPublication second = registry.store(event, listener).iterator().next();
+
+		registry.markCompleted(event, first.getTargetIdentifier());
+
+		assertThat(registry.findIncompletePublications()) //
+				.extracting(EventPublication::getIdentifier) //
+				.containsExactly(second.getIdentifier());
+
+		registry.markCompleted(event, first.getTargetIdentifier());
+
+		assertThat(registry.findIncompletePublications()).isEmpty();
+	}
+
+	@Test
+	void pagesThroughIncompletePublications() {
+
+		registry.store(new SomeEvent("first"), listeners);
+		registry.store(new SomeEvent("second"), listeners);
+
+		List<EventPublication> first = registry.findIncompletePublications(null, 3);
+		List<EventPublication> second = registry.findIncompletePublications(first.get(2), 3);
+
+		assertThat(first).hasSize(3);
+		assertThat(second).hasSize(1);
+		assertThat(second.get(0).getPublicationDate()).isAfterOrEqualTo(first.get(2).getPublicationDate());
+		assertThat(first).extracting(EventPublication::getIdentifier) //
+				.doesNotContain(second.get(0).getIdentifier());
+	}
+
+	@Test
+	void archivesAndDeletesCompletedPublications() {
+
+		EventPublication publication = registry.store(new SomeEvent("value"), listeners).iterator().next();
+
+		registry.markCompleted(publication.getIdentifier());
+
+		assertThat(registry.deleteCompletedPublications(Instant.now().plusSeconds(1), 10, true)).isEqualTo(1);
+
+		JdbcTemplate template = new JdbcTemplate(context.getBean(DataSource.class));
+
+		assertThat(template.queryForObject("select count(*) from EVENT_PUBLICATION_ARCHIVE", Integer.class)).isEqualTo(1);
+		assertThat(template.queryForObject("select count(*) from EVENT_PUBLICATION", Integer.class)).isEqualTo(1);
+		assertThat(registry.findIncompletePublications()).hasSize(1);
+	}
+
+	@Test
+	void storesListenersAndEventTypesOnceInDictionaries() {
+
+		registry.store(new SomeEvent("first"), listeners);
+		registry.store(new SomeEvent("second"), listeners);
+
+		JdbcTemplate template = new JdbcTemplate(context.getBean(DataSource.class));
+
+		assertThat(template.queryForObject("select count(*) from EVENT_PUBLICATION_LISTENER", Integer.class)).isEqualTo(2);
+		assertThat(template.queryForObject("select count(*) from EVENT_PUBLICATION_EVENT_TYPE", Integer.class)).isEqualTo(1);
+		List<PublicationTargetIdentifier> identifiers = listeners.stream() //
+				.map(PublicationTargetIdentifier::forListener) //
+				.collect(Collectors.toList());
+
+		assertThat(registry.findIncompletePublications()) //
+				.extracting(EventPublication::getTargetIdentifier) //
+				.containsAll(identifiers);
+	}
+
+	@Test
+	void storesEventOnceForAllListenersAndDeletesItWithItsLastPublication() {
+
+		context.getBean(JdbcEventPublicationRegistry.class).setDeleteOnCompletion(true);
+
+		SomeEvent event = new SomeEvent("value");
+		List<EventPublication> publications = new ArrayList<>(registry.store(event, listeners));
+
+		JdbcTemplate template = new JdbcTemplate(context.getBean(DataSource.class));
+
+		assertThat(template.queryForObject("select count(*) from EVENT_PUBLICATION_EVENT", Integer.class)).isEqualTo(1);
+
+		registry.markCompleted(publications.get(0).getIdentifier());
+
+		assertThat(template.queryForObject("select count(*) from EVENT_PUBLICATION_EVENT", Integer.class)).isEqualTo(1);
+		assertThat(registry.findIncompletePublications()).hasSize(1) //
+				.allSatisfy(it -> assertThat(it.getEvent()).isEqualTo(event));
+
+		registry.markCompleted(event, publications.get(1).getTargetIdentifier());
+
+		assertThat(template.queryForObject("select count(*) from EVENT_PUBLICATION_EVENT", Integer.class)).isEqualTo(0);
+	}
+
+	@Test
+	void defersDuePublicationsByRegisteredAttempts() {
+
+		EventPublication publication = registry.store(new SomeEvent("value"), listeners).iterator().next();
+		Instant now = Instant.now();
+
+		assertThat(registry.findDuePublications(now, 10)).hasSize(2);
+
+		registry.registerAttempt(publication.getIdentifier(), now.plusSeconds(60));
+
+		assertThat(registry.findDuePublications(now, 10)).hasSize(1) //
+				.noneMatch(it -> it.getIdentifier().equals(publication.getIdentifier()));
+		assertThat(registry.findDuePublications(now.plusSeconds(60), 10)) //
+				.filteredOn(it -> it.getIdentifier().equals(publication.getIdentifier())) //
+				.extracting(EventPublication::getAttemptCount) //
+				.containsExactly(1);
+
+		registry.markCompleted(publication.getIdentifier());
+
+		assertThat(registry.findDuePublications(now.plusSeconds(60), 10)).hasSize(1);
+	}
+
+	@Test
+	void appliesThresholdToPublicationsNotAttemptedYetOnly() {
+
+		EventPublication publication = registry.store(new SomeEvent("value"), listeners).iterator().next();
+		Instant now = Instant.now();
+		Duration threshold = Duration.ofHours(1);
+
+		assertThat(registry.findDuePublications(now, threshold, 10)).isEmpty();
+
+		registry.registerAttempt(publication.getIdentifier(), now.plusSeconds(60));
+
+		assertThat(registry.findDuePublications(now, threshold, 10)).isEmpty();
+		assertThat(registry.findDuePublications(now.plusSeconds(60), threshold, 10)) //
+				.extracting(EventPublication::getIdentifier) //
+				.containsExactly(publication.getIdentifier());
+		assertThat(registry.findDuePublications(now.plus(threshold), threshold, 10)).hasSize(2);
+	}
+
+	@Test
+	void quarantinesRepeatedlyFailingPublicationsUntilRequeued() {
+
+		EventPublication publication = registry.store(new SomeEvent("value"), listeners).iterator().next();
+
+		assertThat(registry.registerFailure(publication.getIdentifier(), "java.lang.IllegalStateException: first", 2))
+				.isFalse();
+
+		assertThat(registry.findQuarantinedPublications(10)).isEmpty();
+
+		assertThat(registry.registerFailure(publication.getIdentifier(), "java.lang.IllegalStateException: second", 2))
+				.isTrue();
+
+		assertThat(registry.findQuarantinedPublications(10)).hasSize(1).allSatisfy(it -> {
+			assertThat(it.getIdentifier()).isEqualTo(publication.getIdentifier());
+			assertThat(it.getFailureCount()).isEqualTo(2);
+			assertThat(it.getLastFailure()).hasValue("java.lang.IllegalStateException: second");
+			assertThat(it.getLastFailureDate()).isPresent();
+		});
+		assertThat(registry.findIncompletePublications()).hasSize(1);
+		assertThat(registry.findIncompletePublications(null, 10)).hasSize(1);
+		assertThat(registry.findDuePublications(Instant.now(), 10)).hasSize(1);
+
+		assertThat(registry.requeueQuarantinedPublications()).isEqualTo(1);
+
+		assertThat(registry.findQuarantinedPublications(10)).isEmpty();
+		assertThat(registry.findDuePublications(Instant.now(), 10)).hasSize(2) //
+				.filteredOn(it -> it.getIdentifier().equals(publication.getIdentifier())) //
+				.extracting(EventPublication::getFailureCount) //
+				.containsExactly(0);
+	}
+
+	private static ApplicationListener<?> listenerFor(String methodName) {
+
+		return new ApplicationListenerMethodAdapter("listeners", SomeEventListeners.class,
+				ReflectionUtils.findMethod(SomeEventListeners.class, methodName, SomeEvent.class));
+	}
+
+	@Configuration
+	@EnableTransactionManagement
+	@Import(JdbcEventPublicationConfiguration.class)
+	static class TestConfiguration {
+
+		@Bean
+		DataSource dataSource() {
+
+			return new EmbeddedDatabaseBuilder() //
+					.setType(EmbeddedDatabaseType.HSQL) //
+					.generateUniqueName(true) //
+					.addScript("org/springframework/events/jdbc/schema.sql") //
+					.build();
+		}
+
+		@Bean
+		DataSourceTransactionManager transactionManager(DataSource dataSource) {
+			return new DataSourceTransactionManager(dataSource);
+		}
+
+		@Bean
+		EventSerializer eventSerializer() {
+
+			return new EventSerializer() {
+
+				@Override
+				public Object serialize(Object event) {
+					return ((SomeEvent) event).getValue();
+				}
+
+				@Override
+				public Object deserialize(Object serialized, Class<?> type) {
+					return new SomeEvent(serialized.toString());
+				}
+			};
+		}
+	}
+
+	@Value
+	static class SomeEvent {
+		String value;
+	}
+
+	static class SomeEventListeners {
+
+		@TransactionalEventListener
+		void first(SomeEvent event) {}
+
+		@TransactionalEventListener
+		void second(SomeEvent event) {}
+	}
+}
@@ -24,42 +24,100 @@ import lombok.RequiredArgsConstructor;
 import java.time.Instant;
 import java.util.UUID;
 
+import javax.persistence.CascadeType;
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
 import javax.persistence.PostLoad;
 import javax.persistence.PrePersist;
+import javax.persistence.Table;
 import javax.persistence.Transient;
 
 import org.springframework.data.domain.Persistable;
 
 /**
+ * A publication of an event to a listener. Refers to the listener identifier by the key of its dictionary entry and to
+ * the published event stored once for all of its listeners. Keeps track of the number of republication attempts and
+ * the time the next one is due at as well as of the application instance that has claimed the publication for
+ * republication and until when. Failed listener invocations are recorded, too, and publications failing repeatedly get
+ * quarantined.
+ *
  * @author Oliver Gierke
+ * @see JpaEventPublicationDictionary
+ * @see JpaEventPublicationEvent
  */
 @Data
 @Entity
+@Table(name = "EVENT_PUBLICATION", indexes = {
+		@Index(name = "EVENT_PUBLICATION_BY_EVENT_IDX", columnList = "EVENT_ID, LISTENER_KEY"),
+		@Index(name = "EVENT_PUBLICATION_BY_COMPLETION_DATE_IDX", columnList = "COMPLETION_DATE"),
+		@Index(name = "EVENT_PUBLICATION_BY_NEXT_ATTEMPT_IDX", columnList = "NEXT_ATTEMPT_AT"),
+		@Index(name = "EVENT_PUBLICATION_BY_QUARANTINE_DATE_IDX",
+				columnList = "COMPLETION_DATE, QUARANTINE_DATE, PUBLICATION_DATE") })
 @NoArgsConstructor(force = true)
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 class JpaEventPublication implements Persistable<UUID> {
 
-	private final @Id UUID id;
-	private final Instant publicationDate;
-	private final String listenerId;
-	private final String serializedEvent;
-	private final Class<?> eventType;
+	static final int MAX_FAILURE_LENGTH = 1000;
+
+	private final @Id @Column(name = "ID", length = 16) UUID id;
+	private final @Column(name = "PUBLICATION_DATE") Instant publicationDate;
+	private final @Column(name = "LISTENER_KEY") int listenerKey;
+	private final @ManyToOne(optional = false, fetch = FetchType.LAZY,
+			cascade = CascadeType.PERSIST) @JoinColumn(name = "EVENT_ID") JpaEventPublicationEvent event;
 
-	private Instant completionDate;
+	private @Column(name = "COMPLETION_DATE") Instant completionDate;
+	private @Column(name = "ATTEMPT_COUNT") int attemptCount;
+	private @Column(name = "NEXT_ATTEMPT_AT") Instant nextAttemptAt;
+	private @Column(name = "CLAIMED_BY") String claimedBy;
+	private @Column(name = "LEASE_EXPIRY") Instant leaseExpiry;
+	private @Column(name = "FAILURE_COUNT") int failureCount;
+	private @Column(name = "LAST_FAILURE_DATE") Instant lastFailureDate;
+	private @Column(name = "LAST_FAILURE", length = MAX_FAILURE_LENGTH) String lastFailure;
+	private @Column(name = "QUARANTINE_DATE") Instant quarantineDate;
 	private @Transient boolean isNew = true;
 
+	/**
+	 * Creates a new {@link JpaEventPublication} of the given {@link JpaEventPublicationEvent}. The event is expected to
+	 * be shared by the publications to all of its listeners.
+	 */
 	@Builder
-	static JpaEventPublication of(Instant publicationDate, String listenerId, Object serializedEvent,
-			Class<?> eventType) {
-		return new JpaEventPublication(UUID.randomUUID(), publicationDate, listenerId, serializedEvent.toString(),
-				eventType);
+	static JpaEventPublication of(UUID id, Instant publicationDate, int listenerKey, JpaEventPublicationEvent event) {
+
+		JpaEventPublication publication = new JpaEventPublication(id, publicationDate, listenerKey, event);
+
+		// Due for republication right away, cleared on completion to keep it out of the index range scanned for due ones
+		publication.nextAttemptAt = publicationDate;
+
+		return publication;
+	}
+
+	/**
+	 * Returns the key of the dictionary entry of the published event's type.
+	 *
+	 * @return
+	 */
+	int getEventTypeKey() {
+		return event.getEventTypeKey();
 	}
 
 	JpaEventPublication markCompleted() {
 
 		this.completionDate = Instant.now();
+		this.nextAttemptAt = null;
+
+		return this;
+	}
+
+	JpaEventPublication claim(String owner, Instant leaseExpiry) {
+
+		this.claimedBy = owner;
+		this.leaseExpiry = leaseExpiry;
+
 		return this;
 	}
 
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jpa;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+/**
+ * Completed {@link JpaEventPublication}s moved into an archive before being purged. Keeps a copy of the serialized
+ * event per publication to not have to keep the {@link JpaEventPublicationEvent} around. Only mapped so that the table
+ * is known to the persistence provider, rows are copied over via
+ * {@link JpaEventPublicationRepository#archive(java.util.Collection)}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Getter
+@Entity
+@Table(name = "EVENT_PUBLICATION_ARCHIVE")
+@NoArgsConstructor
+class JpaEventPublicationArchive {
+
+	private @Id @Column(name = "ID", length = 16) UUID id;
+	private @Column(name = "PUBLICATION_DATE") Instant publicationDate;
+	private @Column(name = "LISTENER_KEY") int listenerKey;
+	private @Lob @Column(name = "SERIALIZED_EVENT") String serializedEvent;
+	private @Lob @Column(name = "SERIALIZED_EVENT_BINARY") byte[] serializedEventBinary;
+	private @Column(name = "EVENT_TYPE_KEY") int eventTypeKey;
+	private @Column(name = "COMPLETION_DATE") Instant completionDate;
+}
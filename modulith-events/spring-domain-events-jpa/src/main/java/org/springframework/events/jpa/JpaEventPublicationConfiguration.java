@@ -17,15 +17,21 @@ package org.springframework.events.jpa;
 
 import lombok.RequiredArgsConstructor;
 
+import java.time.Duration;
+
 import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.ImportSelector;
+import org.springframework.core.env.Environment;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.events.EventSerializer;
+import org.springframework.events.PublicationIdentifierGenerator;
 import org.springframework.events.config.EventPublicationConfigurationExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ClassUtils;
 
 /**
@@ -36,12 +42,34 @@ import org.springframework.util.ClassUtils;
 @RequiredArgsConstructor
 class JpaEventPublicationConfiguration implements EventPublicationConfigurationExtension {
 
+	private static final String DELETE_ON_COMPLETION_PROPERTY = "events.completion.delete";
+	private static final String REPORT_ALL_INCOMPLETE_PROPERTY = "events.shutdown.report-all-incomplete";
+	private static final String SHUTDOWN_REPORT_TIMEOUT_PROPERTY = "events.shutdown.report-timeout";
+	private static final String SKIP_LOCKED_PROPERTY = "events.republication.skip-locked";
+
 	private final JpaEventPublicationRepository repository;
+	private final JpaEventPublicationListenerRepository listeners;
+	private final JpaEventPublicationEventTypeRepository eventTypes;
+	private final ObjectFactory<PlatformTransactionManager> transactionManager;
 	private final ObjectFactory<EventSerializer> serializer;
+	private final ObjectProvider<PublicationIdentifierGenerator> identifierGenerator;
+	private final Environment environment;
 
 	@Bean
 	public JpaEventPublicationRegistry jpaEventPublicationRegistry() {
-		return new JpaEventPublicationRegistry(repository, serializer.getObject());
+
+		PlatformTransactionManager transactions = transactionManager.getObject();
+		JpaEventPublicationDictionary dictionary = new JpaEventPublicationDictionary(listeners, eventTypes, transactions);
+		JpaEventPublicationRegistry registry = new JpaEventPublicationRegistry(repository, serializer.getObject(),
+				dictionary, transactions);
+		registry.setDeleteOnCompletion(environment.getProperty(DELETE_ON_COMPLETION_PROPERTY, Boolean.class, false));
+		registry.setReportAllIncompleteOnShutdown(
+				environment.getProperty(REPORT_ALL_INCOMPLETE_PROPERTY, Boolean.class, false));
+		registry.setShutdownReportTimeout(Duration.parse(environment.getProperty(SHUTDOWN_REPORT_TIMEOUT_PROPERTY, "PT5S")));
+		registry.setSkipLocked(environment.getProperty(SKIP_LOCKED_PROPERTY, Boolean.class, false));
+		identifierGenerator.ifAvailable(registry::setIdentifierGenerator);
+
+		return registry;
 	}
 
 	static class RepositoriesEnablingImportSelector implements ImportSelector {
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jpa;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.events.support.CachingDictionary;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maps event types and listener identifiers to the keys of their {@link JpaEventPublicationEventType} and
+ * {@link JpaEventPublicationListener} dictionary entries and back, caching the mappings in memory after first use.
+ * Missing dictionary entries are created in a separate transaction so that they can be cached independently of the
+ * outcome of the transaction the publication is stored in.
+ *
+ * @author Oliver Drotbohm
+ */
+class JpaEventPublicationDictionary {
+
+	private final CachingDictionary<String> listenerIds;
+	private final CachingDictionary<Class<?>> eventTypes;
+	private final TransactionTemplate transactions;
+
+	/**
+	 * Creates a new {@link JpaEventPublicationDictionary} for the given repositories and
+	 * {@link PlatformTransactionManager}.
+	 *
+	 * @param listeners must not be {@literal null}.
+	 * @param eventTypes must not be {@literal null}.
+	 * @param transactionManager must not be {@literal null}.
+	 */
+	JpaEventPublicationDictionary(JpaEventPublicationListenerRepository listeners,
+			JpaEventPublicationEventTypeRepository eventTypes, PlatformTransactionManager transactionManager) {
+
+		this.transactions = new TransactionTemplate(transactionManager);
+		this.transactions.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+		this.listenerIds = new CachingDictionary<>( //
+				it -> lookupOrCreate(() -> listeners.findByListenerId(it), //
+						() -> listeners.save(JpaEventPublicationListener.of(it)), //
+						JpaEventPublicationListener::getId), //
+				it -> listeners.findById(it).map(JpaEventPublicationListener::getListenerId).orElse(null));
+
+		this.eventTypes = new CachingDictionary<>( //
+				it -> lookupOrCreate(() -> eventTypes.findByEventType(it), //
+						() -> eventTypes.save(JpaEventPublicationEventType.of(it)), //
+						JpaEventPublicationEventType::getId), //
+				it -> eventTypes.findById(it).map(JpaEventPublicationEventType::getEventType).orElse(null));
+	}
+
+	/**
+	 * Returns the key of the dictionary entry for the given listener identifier, creating one if necessary.
+	 *
+	 * @param identifier must not be {@literal null}.
+	 * @return
+	 */
+	int getListenerKey(PublicationTargetIdentifier identifier) {
+		return listenerIds.getKey(identifier.toString());
+	}
+
+	/**
+	 * Returns the listener identifier for the given dictionary key.
+	 *
+	 * @param key
+	 * @return will never be {@literal null}.
+	 */
+	PublicationTargetIdentifier getListenerId(int key) {
+		return PublicationTargetIdentifier.of(listenerIds.getValue(key));
+	}
+
+	/**
+	 * Returns the key of the dictionary entry for the given event type, creating one if necessary.
+	 *
+	 * @param type must not be {@literal null}.
+	 * @return
+	 */
+	int getEventTypeKey(Class<?> type) {
+		return eventTypes.getKey(type);
+	}
+
+	/**
+	 * Returns the event type for the given dictionary key.
+	 *
+	 * @param key
+	 * @return will never be {@literal null}.
+	 */
+	Class<?> getEventType(int key) {
+		return eventTypes.getValue(key);
+	}
+
+	/**
+	 * Looks up the dictionary entry using the given lookup and creates it if it doesn't exist yet. In case a concurrent
+	 * creation of the same entry wins, the entry is looked up again.
+	 */
+	private <T> Integer lookupOrCreate(Supplier<Optional<T>> lookup, Supplier<T> creator, Function<T, Integer> key) {
+
+		try {
+			return transactions.execute(__ -> key.apply(lookup.get().orElseGet(creator)));
+		} catch (DataIntegrityViolationException o_O) {
+			return transactions.execute(__ -> lookup.get().map(key).orElseThrow(() -> o_O));
+		}
+	}
+}
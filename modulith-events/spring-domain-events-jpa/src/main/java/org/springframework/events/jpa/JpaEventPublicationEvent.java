@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jpa;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.PostLoad;
+import javax.persistence.PrePersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+import org.springframework.events.support.SerializedEventDigest;
+
+/**
+ * A published event, stored once and referred to by the {@link JpaEventPublication}s to all of its listeners. Refers to
+ * the event type by the key of its dictionary entry. Binary serialized events are stored as is, all others in their
+ * {@link String} representation, both in unbounded LOB columns.
+ *
+ * @author Oliver Drotbohm
+ * @see JpaEventPublicationDictionary
+ */
+@Data
+@Entity
+@Table(name = "EVENT_PUBLICATION_EVENT", indexes = @Index(name = "EVENT_PUBLICATION_EVENT_BY_HASH_IDX",
+		columnList = "SERIALIZED_EVENT_HASH"))
+@NoArgsConstructor(force = true)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class JpaEventPublicationEvent implements Persistable<UUID> {
+
+	private final @Id @Column(name = "ID", length = 16) UUID id;
+	private final @Column(name = "EVENT_TYPE_KEY") int eventTypeKey;
+	private final @Lob @Column(name = "SERIALIZED_EVENT") String serializedEvent;
+	private final @Lob @Column(name = "SERIALIZED_EVENT_BINARY") byte[] serializedEventBinary;
+	private final @Column(name = "SERIALIZED_EVENT_HASH",
+			length = SerializedEventDigest.LENGTH) String serializedEventHash;
+
+	private @Transient boolean isNew = true;
+
+	/**
+	 * Creates a new {@link JpaEventPublicationEvent} for the given serialized event and its digest.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @param eventTypeKey the key of the event type's dictionary entry.
+	 * @param serializedEvent must not be {@literal null}.
+	 * @param serializedEventHash must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @see SerializedEventDigest#of(Object)
+	 */
+	static JpaEventPublicationEvent of(UUID id, int eventTypeKey, Object serializedEvent, String serializedEventHash) {
+
+		byte[] binary = serializedEvent instanceof byte[] ? (byte[]) serializedEvent : null;
+		String text = binary == null ? serializedEvent.toString() : null;
+
+		return new JpaEventPublicationEvent(id, eventTypeKey, text, binary, serializedEventHash);
+	}
+
+	/**
+	 * Returns the serialized event, i.e. either the binary or the {@link String} one.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	Object getSerialized() {
+		return serializedEventBinary != null ? serializedEventBinary : serializedEvent;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Persistable#isNew()
+	 */
+	@Override
+	public boolean isNew() {
+		return isNew;
+	}
+
+	@PostLoad
+	@PrePersist
+	public void markNotNew() {
+		this.isNew = false;
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jpa;
+
+import java.util.Optional;
+
+import org.springframework.data.repository.CrudRepository;
+
+/**
+ * Repository to look up and create {@link JpaEventPublicationEventType}s.
+ *
+ * @author Oliver Drotbohm
+ */
+interface JpaEventPublicationEventTypeRepository extends CrudRepository<JpaEventPublicationEventType, Integer> {
+
+	/**
+	 * Returns the {@link JpaEventPublicationEventType} for the given event type.
+	 *
+	 * @param eventType must not be {@literal null}.
+	 * @return
+	 */
+	Optional<JpaEventPublicationEventType> findByEventType(Class<?> eventType);
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.events.jpa;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Dictionary entry for the identifier of a listener publications are targeted at. {@link JpaEventPublication}s
+ * only refer to it by its key.
+ *
+ * @author Oliver Drotbohm
+ * @see JpaEventPublicationDictionary
+ */
+@Getter
+@Entity
+@Table(name = "EVENT_PUBLICATION_LISTENER")
+@NoArgsConstructor(force = true)
+@RequiredArgsConstructor(staticName = "of", access = AccessLevel.PACKAGE)
+class JpaEventPublicationListener {
+
+	private @Id @GeneratedValue(strategy = GenerationType.IDENTITY) @Column(name = "ID") Integer id;
+	private final @Column(name = "LISTENER_ID", length = 512, unique = true, nullable = false) String listenerId;
+}
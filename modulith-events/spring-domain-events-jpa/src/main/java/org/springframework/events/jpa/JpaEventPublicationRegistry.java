@@ -20,20 +20,38 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationListener;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.events.CompletableEventPublication;
 import org.springframework.events.EventPublication;
 import org.springframework.events.EventPublicationRegistry;
 import org.springframework.events.EventSerializer;
+import org.springframework.events.PublicationIdentifierGenerator;
 import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.events.jpa.JpaEventPublicationRepository.PublicationSummary;
+import org.springframework.events.support.SerializationBuffers;
+import org.springframework.events.support.SerializedEventDigest;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 
 /**
@@ -45,21 +63,124 @@ import org.springframework.util.Assert;
 @RequiredArgsConstructor
 class JpaEventPublicationRegistry implements EventPublicationRegistry, DisposableBean {
 
+	private static final int SHUTDOWN_REPORT_SAMPLE_SIZE = 10;
+	private static final int SHUTDOWN_REPORT_CHUNK_SIZE = 100;
+	private static final Duration DEFAULT_SHUTDOWN_REPORT_TIMEOUT = Duration.ofSeconds(5);
+	private static final int MAX_CLAIM_ATTEMPTS = 3;
+
 	private final @NonNull JpaEventPublicationRepository events;
 	private final @NonNull EventSerializer serializer;
+	private final @NonNull JpaEventPublicationDictionary dictionary;
+	private final @NonNull PlatformTransactionManager transactionManager;
+
+	private PublicationIdentifierGenerator identifierGenerator = PublicationIdentifierGenerator.timeOrdered();
+	private boolean deleteOnCompletion = false;
+	private boolean reportAllIncompleteOnShutdown = false;
+	private boolean skipLocked = false;
+	private Duration shutdownReportTimeout = DEFAULT_SHUTDOWN_REPORT_TIMEOUT;
+
+	/**
+	 * Configures the {@link PublicationIdentifierGenerator} to create the identifiers of new publications. Defaults to
+	 * {@link PublicationIdentifierGenerator#timeOrdered()}.
+	 *
+	 * @param identifierGenerator must not be {@literal null}.
+	 */
+	public void setIdentifierGenerator(PublicationIdentifierGenerator identifierGenerator) {
+
+		Assert.notNull(identifierGenerator, "PublicationIdentifierGenerator must not be null!");
+
+		this.identifierGenerator = identifierGenerator;
+	}
+
+	/**
+	 * Configures whether to delete publications on completion instead of keeping them around marked as completed.
+	 * Defaults to {@literal false}.
+	 *
+	 * @param deleteOnCompletion
+	 */
+	public void setDeleteOnCompletion(boolean deleteOnCompletion) {
+		this.deleteOnCompletion = deleteOnCompletion;
+	}
+
+	/**
+	 * Configures whether to log all publications left unfinished on shutdown instead of only their number per listener
+	 * and a sample of them. Defaults to {@literal false}.
+	 *
+	 * @param reportAllIncompleteOnShutdown
+	 */
+	public void setReportAllIncompleteOnShutdown(boolean reportAllIncompleteOnShutdown) {
+		this.reportAllIncompleteOnShutdown = reportAllIncompleteOnShutdown;
+	}
+
+	/**
+	 * Configures whether to lock the publications to claim pessimistically, skipping the ones locked by concurrent claims
+	 * on databases supporting {@code SKIP LOCKED}. Defaults to {@literal false}, i.e. claiming the publications by
+	 * conditional updates only, which works on all databases.
+	 *
+	 * @param skipLocked
+	 * @see #claimIncompletePublications(String, Duration, int)
+	 */
+	public void setSkipLocked(boolean skipLocked) {
+		this.skipLocked = skipLocked;
+	}
+
+	/**
+	 * Configures the maximum time to spend on reporting the publications left unfinished on shutdown. Applied as timeout
+	 * of the read-only transaction the report runs in and thus to all of its queries. Rounded up to full seconds.
+	 * Defaults to 5 seconds.
+	 *
+	 * @param shutdownReportTimeout must not be {@literal null}.
+	 */
+	public void setShutdownReportTimeout(Duration shutdownReportTimeout) {
+
+		Assert.notNull(shutdownReportTimeout, "Shutdown report timeout must not be null!");
+
+		this.shutdownReportTimeout = shutdownReportTimeout;
+	}
 
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.events.EventPublicationRegistry#store(java.lang.Object, java.util.Collection)
 	 */
 	@Override
-	public void store(Object event, Collection<ApplicationListener<?>> listeners) {
+	public Collection<EventPublication> store(Object event, Collection<ApplicationListener<?>> listeners) {
 
-		listeners.stream() //
+		List<EventPublication> publications = listeners.stream() //
 				.map(it -> PublicationTargetIdentifier.forListener(it)) //
-				.map(it -> CompletableEventPublication.of(event, it)) //
-				.map(this::map) //
-				.forEach(it -> events.save(it));
+				.map(it -> CompletableEventPublication.of(event, it, identifierGenerator)) //
+				.collect(Collectors.toList());
+
+		storeAll(publications);
+
+		return publications;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#store(org.springframework.events.EventPublication)
+	 */
+	@Override
+	public void store(EventPublication publication) {
+		storeAll(Collections.singletonList(publication));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#storeAll(java.util.Collection)
+	 */
+	@Override
+	public void storeAll(Collection<EventPublication> publications) {
+
+		Assert.notNull(publications, "Publications must not be null!");
+
+		// Stored once per event instance as the publications for all listeners of an event share it
+		Map<Object, JpaEventPublicationEvent> storedEvents = new IdentityHashMap<>();
+
+		// Persisted in one go so that the inserts can be batched on flush (see hibernate.jdbc.batch_size), the events
+		// get persisted along with the publications referring to them
+		events.saveAll(publications.stream() //
+				.map(it -> map(it, storedEvents.computeIfAbsent(it.getEvent(), this::toStoredEvent))) //
+				.collect(Collectors.toList()));
 	}
 
 	/*
@@ -69,11 +190,183 @@ class JpaEventPublicationRegistry implements EventPublicationRegistry, Disposabl
 	@Override
 	public Iterable<EventPublication> findIncompletePublications() {
 
-		List<EventPublication> result = events.findByCompletionDateIsNull().stream() //
-				.map(it -> JpaEventPublicationAdapter.of(it, serializer)) //
-				.collect(Collectors.toList());
+		return adapt(events.findByCompletionDateIsNullAndQuarantineDateIsNull());
+	}
 
-		return result;
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#findIncompletePublications(org.springframework.events.EventPublication, int)
+	 */
+	@Override
+	public List<EventPublication> findIncompletePublications(@Nullable EventPublication after, int limit) {
+
+		Assert.isTrue(limit > 0, "Limit must be greater than zero!");
+
+		Pageable pageable = PageRequest.of(0, limit);
+		List<JpaEventPublication> result = after == null //
+				? events.findIncomplete(pageable) //
+				: events.findIncompleteAfter(after.getPublicationDate(), after.getIdentifier(), pageable);
+
+		return adapt(result);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#claimIncompletePublications(java.lang.String, java.time.Duration, int)
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public List<EventPublication> claimIncompletePublications(String owner, Duration lease, int limit) {
+
+		Assert.hasText(owner, "Owner must not be null or empty!");
+		Assert.notNull(lease, "Lease must not be null!");
+		Assert.isTrue(limit > 0, "Limit must be greater than zero!");
+
+		Instant now = Instant.now();
+		Instant leaseExpiry = now.plus(lease);
+		Pageable pageable = PageRequest.of(0, limit);
+
+		List<JpaEventPublication> claimed;
+
+		if (skipLocked) {
+
+			List<JpaEventPublication> locked = events.findAndLockClaimable(now, pageable);
+			locked.forEach(it -> it.claim(owner, leaseExpiry));
+
+			// Fetches the events of the locked publications in a single query instead of one per publication
+			claimed = locked.isEmpty() //
+					? Collections.emptyList() //
+					: events.findByIdInOrderByPublicationDateAscIdAsc(locked.stream() //
+							.map(JpaEventPublication::getId) //
+							.collect(Collectors.toList()));
+
+		} else {
+
+			List<UUID> candidates;
+			int updated = 0, attempts = 0;
+
+			// Retried a few times in case all candidates have been claimed concurrently before giving up
+			do {
+
+				candidates = events.findClaimable(now, pageable);
+				updated = candidates.isEmpty() ? 0 : events.claimAll(candidates, owner, leaseExpiry, now);
+
+			} while (updated == 0 && !candidates.isEmpty() && ++attempts < MAX_CLAIM_ATTEMPTS);
+
+			// Candidates claimed concurrently by other owners in the meantime are filtered by the claim owner
+			claimed = updated == 0 //
+					? Collections.emptyList() //
+					: events.findByIdInAndClaimedByOrderByPublicationDateAscIdAsc(candidates, owner);
+		}
+
+		log.debug("Claimed {} publications for {}.", claimed.size(), owner);
+
+		return adapt(claimed);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#findDuePublications(java.time.Instant, java.time.Duration, int)
+	 */
+	@Override
+	public List<EventPublication> findDuePublications(Instant dueAt, Duration threshold, int limit) {
+
+		Assert.notNull(dueAt, "Due date must not be null!");
+		Assert.notNull(threshold, "Threshold must not be null!");
+		Assert.isTrue(!threshold.isNegative(), "Threshold must not be negative!");
+		Assert.isTrue(limit > 0, "Limit must be greater than zero!");
+
+		return adapt(events.findDue(dueAt, dueAt.minus(threshold), PageRequest.of(0, limit)));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#registerAttempt(java.util.UUID, java.time.Instant)
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public void registerAttempt(UUID identifier, Instant nextAttempt) {
+
+		Assert.notNull(identifier, "Publication identifier must not be null!");
+		Assert.notNull(nextAttempt, "Next attempt must not be null!");
+
+		events.registerAttempt(identifier, nextAttempt);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#registerFailure(java.util.UUID, java.lang.String, int)
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public boolean registerFailure(UUID identifier, String failure, int quarantineThreshold) {
+
+		Assert.notNull(identifier, "Publication identifier must not be null!");
+		Assert.notNull(failure, "Failure must not be null!");
+		Assert.isTrue(quarantineThreshold >= 0, "Quarantine threshold must not be negative!");
+
+		Instant now = Instant.now();
+		String truncated = failure.length() > JpaEventPublication.MAX_FAILURE_LENGTH //
+				? failure.substring(0, JpaEventPublication.MAX_FAILURE_LENGTH) //
+				: failure;
+
+		events.registerFailure(identifier, now, truncated);
+
+		boolean quarantined = quarantineThreshold > 0 && events.quarantine(identifier, now, quarantineThreshold) > 0;
+
+		if (quarantined) {
+			log.debug("Quarantined publication with id {}.", identifier);
+		}
+
+		return quarantined;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#findQuarantinedPublications(int)
+	 */
+	@Override
+	public List<EventPublication> findQuarantinedPublications(int limit) {
+
+		Assert.isTrue(limit > 0, "Limit must be greater than zero!");
+
+		return adapt(events.findQuarantined(PageRequest.of(0, limit)));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#requeueQuarantinedPublications(java.util.Collection)
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public int requeueQuarantinedPublications(Collection<UUID> identifiers) {
+
+		Assert.notNull(identifiers, "Publication identifiers must not be null!");
+
+		if (identifiers.isEmpty()) {
+			return 0;
+		}
+
+		int requeued = events.requeue(identifiers, Instant.now());
+
+		log.debug("Requeued {} quarantined publications.", requeued);
+
+		return requeued;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#requeueQuarantinedPublications()
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public int requeueQuarantinedPublications() {
+
+		int requeued = events.requeueAll(Instant.now());
+
+		log.debug("Requeued {} quarantined publications.", requeued);
+
+		return requeued;
 	}
 
 	/*
@@ -87,9 +380,85 @@ class JpaEventPublicationRegistry implements EventPublicationRegistry, Disposabl
 		Assert.notNull(event, "Domain event must not be null!");
 		Assert.notNull(listener, "Listener identifier must not be null!");
 
-		events.findBySerializedEventAndListenerId(serializer.serialize(event), listener.toString()) //
-				.map(JpaEventPublicationRegistry::logCompleted) //
-				.ifPresent(it -> events.saveAndFlush(it.markCompleted()));
+		events.findBySerializedEventAndListenerKey(SerializationBuffers.serialize(serializer, event),
+				dictionary.getListenerKey(listener)) //
+				.map(this::logCompleted) //
+				.ifPresent(it -> {
+
+					if (deleteOnCompletion) {
+
+						events.delete(it);
+						events.flush();
+						events.deleteOrphanedEvents(Collections.singleton(it.getEvent().getId()));
+
+					} else {
+						events.saveAndFlush(it.markCompleted());
+					}
+				});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#markCompleted(java.util.UUID)
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public void markCompleted(UUID identifier) {
+
+		Assert.notNull(identifier, "Publication identifier must not be null!");
+
+		int updated = deleteOnCompletion //
+				? deletePublications(Collections.singleton(identifier)) //
+				: events.markCompleted(identifier, Instant.now());
+
+		if (updated > 0) {
+			log.debug("Marking publication with id {} completed.", identifier);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#markCompleted(java.util.Collection)
+	 */
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public void markCompleted(Collection<UUID> identifiers) {
+
+		Assert.notNull(identifiers, "Publication identifiers must not be null!");
+
+		if (identifiers.isEmpty()) {
+			return;
+		}
+
+		int updated = deleteOnCompletion //
+				? deletePublications(identifiers) //
+				: events.markCompleted(identifiers, Instant.now());
+
+		log.debug("Marked {} of {} publications completed.", updated, identifiers.size());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.events.EventPublicationRegistry#deleteCompletedPublications(java.time.Instant, int, boolean)
+	 */
+	@Override
+	@Transactional
+	public int deleteCompletedPublications(Instant completedBefore, int limit, boolean archive) {
+
+		Assert.notNull(completedBefore, "Completion date must not be null!");
+		Assert.isTrue(limit > 0, "Limit must be greater than zero!");
+
+		List<UUID> identifiers = events.findCompletedBefore(completedBefore, PageRequest.of(0, limit));
+
+		if (identifiers.isEmpty()) {
+			return 0;
+		}
+
+		if (archive) {
+			events.archive(identifiers);
+		}
+
+		return deletePublications(identifiers);
 	}
 
 	/*
@@ -97,41 +466,129 @@ class JpaEventPublicationRegistry implements EventPublicationRegistry, Disposabl
 	 * @see org.springframework.beans.factory.DisposableBean#destroy()
 	 */
 	@Override
-	public void destroy() throws Exception {
+	public void destroy() {
+
+		TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+		transactions.setReadOnly(true);
+		transactions.setTimeout(toTimeoutSeconds(shutdownReportTimeout));
+
+		try {
+
+			// The transaction's timeout is applied to the queries of the report, cancelling them once it has elapsed
+			transactions.executeWithoutResult(__ -> reportIncompletePublications());
+
+		} catch (TransactionTimedOutException | QueryTimeoutException o_O) {
+			log.warn("Reporting publications left unfinished did not finish within {}!", shutdownReportTimeout);
+		} catch (RuntimeException o_O) {
+			log.warn("Reporting publications left unfinished failed!", o_O);
+		}
+	}
+
+	/**
+	 * Deletes the publications with the given identifiers along with the events not referred to by any other publication
+	 * anymore.
+	 *
+	 * @param identifiers must not be {@literal null}.
+	 * @return the number of publications deleted.
+	 */
+	private int deletePublications(Collection<UUID> identifiers) {
+
+		List<UUID> eventIds = events.findEventIds(identifiers);
+		int deleted = events.deletePublications(identifiers);
+
+		if (!eventIds.isEmpty()) {
+			events.deleteOrphanedEvents(eventIds);
+		}
 
-		List<JpaEventPublication> outstandingPublications = events.findByCompletionDateIsNull();
+		return deleted;
+	}
+
+	private void reportIncompletePublications() {
 
-		if (outstandingPublications.isEmpty()) {
+		long outstanding = events.countByCompletionDateIsNull();
+
+		if (outstanding == 0) {
 
 			log.info("No publications outstanding!");
 			return;
 		}
 
-		log.info("Shutting down with the following publications left unfinished:");
+		log.info("Shutting down with {} publications left unfinished:", outstanding);
+
+		events.countIncompleteByListener().forEach(it -> log.info("\t{} - {}", //
+				dictionary.getListenerId(it.getListenerKey()), it.getCount()));
+
+		if (!reportAllIncompleteOnShutdown) {
+
+			log.info("First {} of them:", Math.min(outstanding, SHUTDOWN_REPORT_SAMPLE_SIZE));
+
+			events.findIncompleteSummaries(PageRequest.of(0, SHUTDOWN_REPORT_SAMPLE_SIZE)).forEach(this::logIncomplete);
+
+			return;
+		}
+
+		Pageable pageable = PageRequest.of(0, SHUTDOWN_REPORT_CHUNK_SIZE);
+		List<PublicationSummary> chunk = events.findIncompleteSummaries(pageable);
+
+		while (!chunk.isEmpty()) {
 
-		outstandingPublications
-				.forEach(it -> log.info("\t{} - {} - {}", it.getId(), it.getEventType().getName(), it.getListenerId()));
+			chunk.forEach(this::logIncomplete);
+
+			PublicationSummary last = chunk.get(chunk.size() - 1);
+
+			chunk = events.findIncompleteSummariesAfter(last.getPublicationDate(), last.getId(), pageable);
+		}
 	}
 
-	private JpaEventPublication map(EventPublication publication) {
+	private void logIncomplete(PublicationSummary publication) {
+		log.info("\t{} - {}", publication.getId(), dictionary.getListenerId(publication.getListenerKey()));
+	}
+
+	private static int toTimeoutSeconds(Duration timeout) {
+		return (int) Math.max(1, timeout.getSeconds() + (timeout.getNano() > 0 ? 1 : 0));
+	}
+
+	private JpaEventPublication map(EventPublication publication, JpaEventPublicationEvent event) {
 
 		JpaEventPublication result = JpaEventPublication.builder() //
-				.eventType(publication.getEvent().getClass()) //
+				.id(publication.getIdentifier()) //
 				.publicationDate(publication.getPublicationDate()) //
-				.listenerId(publication.getTargetIdentifier().toString()) //
-				.serializedEvent(serializer.serialize(publication.getEvent()).toString()) //
+				.listenerKey(dictionary.getListenerKey(publication.getTargetIdentifier())) //
+				.event(event) //
 				.build();
 
 		log.debug("Registering publication of {} with id {} for {}.", //
-				result.getEventType(), result.getId(), result.getListenerId());
+				publication.getEvent().getClass(), result.getId(), publication.getTargetIdentifier());
 
 		return result;
 	}
 
-	private static JpaEventPublication logCompleted(JpaEventPublication publication) {
+	private JpaEventPublicationEvent toStoredEvent(Object event) {
+
+		Object serialized = SerializationBuffers.serialize(serializer, event);
+
+		// Binary serialized events are stored as is, all others in their String representation
+		Object value = serialized instanceof byte[] ? serialized : serialized.toString();
+
+		return JpaEventPublicationEvent.of(identifierGenerator.generate(),
+				dictionary.getEventTypeKey(event.getClass()), value, SerializedEventDigest.of(value));
+	}
+
+	private List<EventPublication> adapt(Collection<JpaEventPublication> publications) {
+
+		// Shared by the adapters so that events published to multiple listeners are deserialized only once
+		Map<UUID, Object> deserializedEvents = new ConcurrentHashMap<>();
+
+		return publications.stream() //
+				.map(it -> JpaEventPublicationAdapter.of(it, serializer, dictionary, deserializedEvents)) //
+				.collect(Collectors.toList());
+	}
+
+	private JpaEventPublication logCompleted(JpaEventPublication publication) {
 
 		log.debug("Marking publication of event {} with id {} to listener {} completed.", //
-				publication.getEventType(), publication.getId(), publication.getListenerId());
+				dictionary.getEventType(publication.getEventTypeKey()), publication.getId(),
+				dictionary.getListenerId(publication.getListenerKey()));
 
 		return publication;
 	}
@@ -142,6 +599,17 @@ class JpaEventPublicationRegistry implements EventPublicationRegistry, Disposabl
 
 		private final JpaEventPublication publication;
 		private final EventSerializer serializer;
+		private final JpaEventPublicationDictionary dictionary;
+		private final @EqualsAndHashCode.Exclude Map<UUID, Object> deserializedEvents;
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.events.EventPublication#getIdentifier()
+		 */
+		@Override
+		public UUID getIdentifier() {
+			return publication.getId();
+		}
 
 		/*
 		 * (non-Javadoc)
@@ -149,7 +617,11 @@ class JpaEventPublicationRegistry implements EventPublicationRegistry, Disposabl
 		 */
 		@Override
 		public Object getEvent() {
-			return serializer.deserialize(publication.getSerializedEvent(), publication.getEventType());
+
+			JpaEventPublicationEvent event = publication.getEvent();
+
+			return deserializedEvents.computeIfAbsent(event.getId(), __ -> serializer.deserialize(event.getSerialized(),
+					dictionary.getEventType(event.getEventTypeKey())));
 		}
 
 		/*
@@ -158,7 +630,7 @@ class JpaEventPublicationRegistry implements EventPublicationRegistry, Disposabl
 		 */
 		@Override
 		public PublicationTargetIdentifier getTargetIdentifier() {
-			return PublicationTargetIdentifier.of(publication.getListenerId());
+			return dictionary.getListenerId(publication.getListenerKey());
 		}
 
 		/*
@@ -169,5 +641,41 @@ class JpaEventPublicationRegistry implements EventPublicationRegistry, Disposabl
 		public Instant getPublicationDate() {
 			return publication.getPublicationDate();
 		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.events.EventPublication#getAttemptCount()
+		 */
+		@Override
+		public int getAttemptCount() {
+			return publication.getAttemptCount();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.events.EventPublication#getFailureCount()
+		 */
+		@Override
+		public int getFailureCount() {
+			return publication.getFailureCount();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.events.EventPublication#getLastFailureDate()
+		 */
+		@Override
+		public Optional<Instant> getLastFailureDate() {
+			return Optional.ofNullable(publication.getLastFailureDate());
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.events.EventPublication#getLastFailure()
+		 */
+		@Override
+		public Optional<String> getLastFailure() {
+			return Optional.ofNullable(publication.getLastFailure());
+		}
 	}
 }
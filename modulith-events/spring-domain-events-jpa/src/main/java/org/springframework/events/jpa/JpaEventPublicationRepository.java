@@ -15,12 +15,24 @@
  */
 package org.springframework.events.jpa;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.events.support.SerializedEventDigest;
 
 /**
  * Repository to store {@link JpaEventPublication}s.
@@ -30,17 +42,390 @@ import org.springframework.data.jpa.repository.Query;
 interface JpaEventPublicationRepository extends JpaRepository<JpaEventPublication, UUID> {
 
 	/**
-	 * Returns all {@link JpaEventPublication} that have not been completed yet.
+	 * The lock timeout to make Hibernate skip locked rows, see {@code org.hibernate.LockOptions#SKIP_LOCKED}.
+	 */
+	String SKIP_LOCKED = "-2";
+
+	/**
+	 * Returns all {@link JpaEventPublication} that have not been completed yet and are not quarantined.
+	 */
+	@EntityGraph(attributePaths = "event")
+	List<JpaEventPublication> findByCompletionDateIsNullAndQuarantineDateIsNull();
+
+	/**
+	 * Returns the number of {@link JpaEventPublication}s that have not been completed yet, including quarantined ones.
+	 *
+	 * @return
+	 */
+	long countByCompletionDateIsNull();
+
+	/**
+	 * Returns the number of {@link JpaEventPublication}s that have not been completed yet, including quarantined ones,
+	 * per listener.
+	 *
+	 * @return
+	 */
+	@Query("select p.listenerKey as listenerKey, count(p) as count from JpaEventPublication p" //
+			+ " where p.completionDate is null group by p.listenerKey")
+	List<IncompletePublications> countIncompleteByListener();
+
+	/**
+	 * Returns the identifiers and listener keys of the first {@link JpaEventPublication}s that have not been completed yet,
+	 * including quarantined ones, ordered by publication date and identifier. Doesn't load the events.
+	 *
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 */
+	@Query("select p.id as id, p.publicationDate as publicationDate, p.listenerKey as listenerKey" //
+			+ " from JpaEventPublication p where p.completionDate is null order by p.publicationDate, p.id")
+	List<PublicationSummary> findIncompleteSummaries(Pageable pageable);
+
+	/**
+	 * Returns the identifiers and listener keys of the {@link JpaEventPublication}s that have not been completed yet,
+	 * including quarantined ones, and are ordered after the given publication date and identifier. Doesn't load the
+	 * events.
+	 *
+	 * @param publicationDate must not be {@literal null}.
+	 * @param id must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 */
+	@Query("select p.id as id, p.publicationDate as publicationDate, p.listenerKey as listenerKey" //
+			+ " from JpaEventPublication p where p.completionDate is null" //
+			+ " and (p.publicationDate > ?1 or (p.publicationDate = ?1 and p.id > ?2))" //
+			+ " order by p.publicationDate, p.id")
+	List<PublicationSummary> findIncompleteSummariesAfter(Instant publicationDate, UUID id, Pageable pageable);
+
+	/**
+	 * Returns the first {@link JpaEventPublication}s that have not been completed yet and are not quarantined, ordered
+	 * by publication date and identifier.
+	 *
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 */
+	@EntityGraph(attributePaths = "event")
+	@Query("select p from JpaEventPublication p where p.completionDate is null and p.quarantineDate is null" //
+			+ " order by p.publicationDate, p.id")
+	List<JpaEventPublication> findIncomplete(Pageable pageable);
+
+	/**
+	 * Returns the {@link JpaEventPublication}s that have not been completed yet, are not quarantined and are ordered
+	 * after the given publication date and identifier.
+	 *
+	 * @param publicationDate must not be {@literal null}.
+	 * @param id must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 */
+	@EntityGraph(attributePaths = "event")
+	@Query("select p from JpaEventPublication p where p.completionDate is null and p.quarantineDate is null" //
+			+ " and (p.publicationDate > ?1 or (p.publicationDate = ?1 and p.id > ?2))" //
+			+ " order by p.publicationDate, p.id")
+	List<JpaEventPublication> findIncompleteAfter(Instant publicationDate, UUID id, Pageable pageable);
+
+	/**
+	 * Returns the identifiers of the {@link JpaEventPublication}s that have not been completed yet, are not quarantined
+	 * and are not claimed or whose lease has expired before the given {@link Instant}, ordered by publication date and
+	 * identifier.
+	 *
+	 * @param now must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 */
+	@Query("select p.id from JpaEventPublication p where p.completionDate is null and p.quarantineDate is null" //
+			+ " and (p.leaseExpiry is null or p.leaseExpiry < ?1) order by p.publicationDate, p.id")
+	List<UUID> findClaimable(Instant now, Pageable pageable);
+
+	/**
+	 * Returns the {@link JpaEventPublication}s that have not been completed yet, are not quarantined and are not claimed
+	 * or whose lease has expired before the given {@link Instant}, ordered by publication date and identifier. Locks the
+	 * publications returned and skips the ones locked by other transactions on databases supporting that. The events
+	 * are not fetched, see {@link #findByIdInOrderByPublicationDateAscIdAsc(Collection)} to do so in a single query.
+	 *
+	 * @param now must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 */
+	// Events loaded separately to not lock the ones shared with publications to other listeners
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = SKIP_LOCKED))
+	@Query("select p from JpaEventPublication p where p.completionDate is null and p.quarantineDate is null" //
+			+ " and (p.leaseExpiry is null or p.leaseExpiry < ?1) order by p.publicationDate, p.id")
+	List<JpaEventPublication> findAndLockClaimable(Instant now, Pageable pageable);
+
+	/**
+	 * Claims the {@link JpaEventPublication}s with the given identifiers for the given owner until the given lease expiry
+	 * in case they haven't been completed yet, aren't quarantined and aren't claimed or their lease has expired before
+	 * the given {@link Instant}.
+	 *
+	 * @param ids must not be {@literal null}.
+	 * @param owner must not be {@literal null}.
+	 * @param leaseExpiry must not be {@literal null}.
+	 * @param now must not be {@literal null}.
+	 * @return the number of publications updated.
+	 */
+	@Modifying
+	@Query("update JpaEventPublication p set p.claimedBy = ?2, p.leaseExpiry = ?3" //
+			+ " where p.id in ?1 and p.completionDate is null and p.quarantineDate is null" //
+			+ " and (p.leaseExpiry is null or p.leaseExpiry < ?4)")
+	int claimAll(Collection<UUID> ids, String owner, Instant leaseExpiry, Instant now);
+
+	/**
+	 * Returns the {@link JpaEventPublication}s with the given identifiers claimed by the given owner ordered by
+	 * publication date and identifier.
+	 *
+	 * @param ids must not be {@literal null}.
+	 * @param owner must not be {@literal null}.
+	 * @return
+	 */
+	@EntityGraph(attributePaths = "event")
+	List<JpaEventPublication> findByIdInAndClaimedByOrderByPublicationDateAscIdAsc(Collection<UUID> ids, String owner);
+
+	/**
+	 * Returns the {@link JpaEventPublication}s with the given identifiers ordered by publication date and identifier.
+	 *
+	 * @param ids must not be {@literal null}.
+	 * @return
+	 */
+	@EntityGraph(attributePaths = "event")
+	List<JpaEventPublication> findByIdInOrderByPublicationDateAscIdAsc(Collection<UUID> ids);
+
+	/**
+	 * Returns the {@link JpaEventPublication}s that have not been completed yet, are not quarantined and whose next
+	 * republication attempt is due at the given {@link Instant}, ordered by the time they became due. Publications not
+	 * attempted yet, which are due at their publication date, are only returned if published before the given
+	 * {@link Instant}.
+	 *
+	 * @param dueAt must not be {@literal null}.
+	 * @param publishedBefore must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 */
+	@EntityGraph(attributePaths = "event")
+	@Query("select p from JpaEventPublication p where p.nextAttemptAt <= ?1" //
+			+ " and (p.attemptCount > 0 or p.nextAttemptAt <= ?2) and p.completionDate is null" //
+			+ " and p.quarantineDate is null order by p.nextAttemptAt")
+	List<JpaEventPublication> findDue(Instant dueAt, Instant publishedBefore, Pageable pageable);
+
+	/**
+	 * Increments the attempt count of the {@link JpaEventPublication} with the given identifier and defers its next
+	 * republication attempt to the given {@link Instant} in case it hasn't been completed or quarantined yet.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @param nextAttemptAt must not be {@literal null}.
+	 * @return the number of publications updated.
+	 */
+	@Modifying
+	@Query("update JpaEventPublication p set p.attemptCount = p.attemptCount + 1, p.nextAttemptAt = ?2" //
+			+ " where p.id = ?1 and p.completionDate is null and p.quarantineDate is null")
+	int registerAttempt(UUID id, Instant nextAttemptAt);
+
+	/**
+	 * Increments the failure count of the {@link JpaEventPublication} with the given identifier and records the given
+	 * failure in case it hasn't been completed yet.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @param failureDate must not be {@literal null}.
+	 * @param failure must not be {@literal null}.
+	 * @return the number of publications updated.
+	 */
+	@Modifying
+	@Query("update JpaEventPublication p set p.failureCount = p.failureCount + 1, p.lastFailureDate = ?2," //
+			+ " p.lastFailure = ?3 where p.id = ?1 and p.completionDate is null")
+	int registerFailure(UUID id, Instant failureDate, String failure);
+
+	/**
+	 * Quarantines the {@link JpaEventPublication} with the given identifier in case it has failed at least the given
+	 * number of times and hasn't been completed or quarantined yet. Clears the next republication attempt to keep it out
+	 * of the index range scanned for due publications.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @param quarantineDate must not be {@literal null}.
+	 * @param threshold the minimum number of failures.
+	 * @return the number of publications updated.
+	 */
+	@Modifying
+	@Query("update JpaEventPublication p set p.quarantineDate = ?2, p.nextAttemptAt = null" //
+			+ " where p.id = ?1 and p.failureCount >= ?3 and p.completionDate is null and p.quarantineDate is null")
+	int quarantine(UUID id, Instant quarantineDate, int threshold);
+
+	/**
+	 * Returns the quarantined {@link JpaEventPublication}s that have not been completed yet, ordered by publication date
+	 * and identifier.
+	 *
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 */
+	@EntityGraph(attributePaths = "event")
+	@Query("select p from JpaEventPublication p where p.completionDate is null and p.quarantineDate is not null" //
+			+ " order by p.publicationDate, p.id")
+	List<JpaEventPublication> findQuarantined(Pageable pageable);
+
+	/**
+	 * Requeues the quarantined {@link JpaEventPublication}s with the given identifiers, resetting their failure and
+	 * attempt counts and making them due at the given {@link Instant}.
+	 *
+	 * @param ids must not be {@literal null}.
+	 * @param nextAttemptAt must not be {@literal null}.
+	 * @return the number of publications updated.
+	 */
+	@Modifying
+	@Query("update JpaEventPublication p set p.quarantineDate = null, p.failureCount = 0, p.attemptCount = 0," //
+			+ " p.nextAttemptAt = ?2 where p.id in ?1 and p.completionDate is null and p.quarantineDate is not null")
+	int requeue(Collection<UUID> ids, Instant nextAttemptAt);
+
+	/**
+	 * Requeues all quarantined {@link JpaEventPublication}s, resetting their failure and attempt counts and making them
+	 * due at the given {@link Instant}.
+	 *
+	 * @param nextAttemptAt must not be {@literal null}.
+	 * @return the number of publications updated.
+	 */
+	@Modifying
+	@Query("update JpaEventPublication p set p.quarantineDate = null, p.failureCount = 0, p.attemptCount = 0," //
+			+ " p.nextAttemptAt = ?1 where p.completionDate is null and p.quarantineDate is not null")
+	int requeueAll(Instant nextAttemptAt);
+
+	/**
+	 * Returns the identifiers of the {@link JpaEventPublication}s completed before the given {@link Instant}.
+	 *
+	 * @param completedBefore must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 */
+	@Query("select p.id from JpaEventPublication p where p.completionDate < ?1 order by p.completionDate")
+	List<UUID> findCompletedBefore(Instant completedBefore, Pageable pageable);
+
+	/**
+	 * Copies the {@link JpaEventPublication}s with the given identifiers into the archive table.
+	 *
+	 * @param ids must not be {@literal null}.
+	 * @return the number of publications archived.
+	 * @see JpaEventPublicationArchive
+	 */
+	@Modifying
+	@Query(nativeQuery = true,
+			value = "insert into EVENT_PUBLICATION_ARCHIVE" //
+					+ " (ID, PUBLICATION_DATE, LISTENER_KEY, SERIALIZED_EVENT, SERIALIZED_EVENT_BINARY, EVENT_TYPE_KEY," //
+					+ " COMPLETION_DATE)" //
+					+ " select p.ID, p.PUBLICATION_DATE, p.LISTENER_KEY, e.SERIALIZED_EVENT, e.SERIALIZED_EVENT_BINARY," //
+					+ " e.EVENT_TYPE_KEY, p.COMPLETION_DATE" //
+					+ " from EVENT_PUBLICATION p join EVENT_PUBLICATION_EVENT e on e.ID = p.EVENT_ID where p.ID in (?1)")
+	int archive(Collection<UUID> ids);
+
+	/**
+	 * Deletes the {@link JpaEventPublication}s with the given identifiers.
+	 *
+	 * @param ids must not be {@literal null}.
+	 * @return the number of publications deleted.
 	 */
-	List<JpaEventPublication> findByCompletionDateIsNull();
+	@Modifying
+	@Query("delete from JpaEventPublication p where p.id in ?1")
+	int deletePublications(Collection<UUID> ids);
 
 	/**
-	 * Return the {@link JpaEventPublication} for the given serialized event and listener identifier.
+	 * Returns the identifiers of the {@link JpaEventPublicationEvent}s referred to by the {@link JpaEventPublication}s
+	 * with the given identifiers.
+	 *
+	 * @param ids must not be {@literal null}.
+	 * @return
+	 */
+	@Query("select distinct p.event.id from JpaEventPublication p where p.id in ?1")
+	List<UUID> findEventIds(Collection<UUID> ids);
+
+	/**
+	 * Deletes the {@link JpaEventPublicationEvent}s with the given identifiers that are not referred to by any
+	 * {@link JpaEventPublication} anymore.
+	 *
+	 * @param eventIds must not be {@literal null}.
+	 * @return the number of events deleted.
+	 */
+	@Modifying
+	@Query("delete from JpaEventPublicationEvent e where e.id in ?1" //
+			+ " and not exists (select p.id from JpaEventPublication p where p.event = e)")
+	int deleteOrphanedEvents(Collection<UUID> eventIds);
+
+	/**
+	 * Return the oldest incomplete {@link JpaEventPublication} for the given serialized event and listener key. Looks up
+	 * the candidates via the indexed digest of the serialized event and only compares the actual serialized event for
+	 * those to rule out collisions.
 	 * 
 	 * @param event must not be {@literal null}.
-	 * @param listenerId must not be {@literal null}.
+	 * @param listenerKey the key of the listener's dictionary entry.
+	 * @return
+	 * @see JpaEventPublicationDictionary#getListenerKey(org.springframework.events.PublicationTargetIdentifier)
+	 */
+	default Optional<JpaEventPublication> findBySerializedEventAndListenerKey(Object event, int listenerKey) {
+
+		Object serializedEvent = event instanceof byte[] ? event : event.toString();
+
+		return findBySerializedEventHashAndListenerKey(SerializedEventDigest.of(serializedEvent), listenerKey).stream() //
+				.filter(it -> Objects.deepEquals(serializedEvent, it.getEvent().getSerialized())) //
+				.findFirst();
+	}
+
+	/**
+	 * Returns all incomplete {@link JpaEventPublication}s for the given digest of a serialized event and listener key,
+	 * ordered by publication date and identifier.
+	 *
+	 * @param serializedEventHash must not be {@literal null}.
+	 * @param listenerKey the key of the listener's dictionary entry.
 	 * @return
+	 * @see SerializedEventDigest
 	 */
-	@Query("select p from JpaEventPublication p where p.serializedEvent = ?1 and p.listenerId = ?2")
-	Optional<JpaEventPublication> findBySerializedEventAndListenerId(Object event, String listenerId);
+	@EntityGraph(attributePaths = "event")
+	@Query("select p from JpaEventPublication p where p.event.serializedEventHash = ?1 and p.listenerKey = ?2" //
+			+ " and p.completionDate is null order by p.publicationDate, p.id")
+	List<JpaEventPublication> findBySerializedEventHashAndListenerKey(String serializedEventHash, int listenerKey);
+
+	/**
+	 * Marks the {@link JpaEventPublication} with the given identifier as completed in case it hasn't been completed yet.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @param completionDate must not be {@literal null}.
+	 * @return the number of publications updated.
+	 */
+	@Modifying
+	@Query("update JpaEventPublication p set p.completionDate = ?2, p.nextAttemptAt = null" //
+			+ " where p.id = ?1 and p.completionDate is null")
+	int markCompleted(UUID id, Instant completionDate);
+
+	/**
+	 * Marks the {@link JpaEventPublication}s with the given identifiers as completed in case they haven't been completed
+	 * yet.
+	 *
+	 * @param ids must not be {@literal null}.
+	 * @param completionDate must not be {@literal null}.
+	 * @return the number of publications updated.
+	 */
+	@Modifying
+	@Query("update JpaEventPublication p set p.completionDate = ?2, p.nextAttemptAt = null" //
+			+ " where p.id in ?1 and p.completionDate is null")
+	int markCompleted(Collection<UUID> ids, Instant completionDate);
+
+	/**
+	 * Projection of the identifier, publication date and listener key of a publication.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	interface PublicationSummary {
+
+		UUID getId();
+
+		Instant getPublicationDate();
+
+		int getListenerKey();
+	}
+
+	/**
+	 * Projection of the number of incomplete publications of a listener.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	interface IncompletePublications {
+
+		int getListenerKey();
+
+		long getCount();
+	}
 }
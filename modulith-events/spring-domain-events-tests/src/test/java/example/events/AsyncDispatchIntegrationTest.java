@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package example.events;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.events.EventPublication;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.events.config.EnablePersistentDomainEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Integration tests for the asynchronous dispatch of after-commit listeners.
+ *
+ * @author Oliver Drotbohm
+ */
+class AsyncDispatchIntegrationTest {
+
+	AnnotationConfigApplicationContext context;
+
+	@BeforeEach
+	void setUp() {
+
+		this.context = new AnnotationConfigApplicationContext();
+		this.context.getEnvironment().getPropertySources().addFirst(
+				new MapPropertySource("test", Collections.singletonMap("events.dispatch.async", "true")));
+		this.context.register(ApplicationConfiguration.class, InfrastructureConfiguration.class);
+		this.context.refresh();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.context.close();
+	}
+
+	@Test
+	void invokesAfterCommitListenersOnExecutorAndTracksCompletion() throws Exception {
+
+		ApplicationEventPublisher publisher = context.getBean(ApplicationEventPublisher.class);
+		TransactionTemplate transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		SuccessfulListener listener = context.getBean(SuccessfulListener.class);
+
+		transactions.execute(__ -> {
+			publisher.publishEvent(new SomeEvent());
+			return null;
+		});
+
+		assertThat(listener.awaitInvocation()).isTrue();
+		assertThat(listener.getThread()).isNotSameAs(Thread.currentThread());
+
+		EventPublicationRegistry registry = context.getBean(EventPublicationRegistry.class);
+		long timeout = System.currentTimeMillis() + 5000;
+
+		while (registry.findIncompletePublications(null, 10).size() > 1 && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+
+		Method method = ReflectionUtils.findMethod(FailingListener.class, "on", SomeEvent.class);
+
+		assertThat(registry.findIncompletePublications()).hasSize(1) //
+				.extracting(EventPublication::getTargetIdentifier) //
+				.containsExactly(PublicationTargetIdentifier.forMethod(method));
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnablePersistentDomainEvents
+	static class ApplicationConfiguration {
+
+		@Bean
+		SuccessfulListener successfulListener() {
+			return new SuccessfulListener();
+		}
+
+		@Bean
+		FailingListener failingListener() {
+			return new FailingListener();
+		}
+	}
+
+	static class SomeEvent {}
+
+	static class SuccessfulListener {
+
+		private final CountDownLatch invoked = new CountDownLatch(1);
+		private volatile Thread thread;
+
+		@TransactionalEventListener
+		public void on(SomeEvent event) {
+
+			this.thread = Thread.currentThread();
+			this.invoked.countDown();
+		}
+
+		// Accessed via methods as the bean is a class-based proxy
+		public boolean awaitInvocation() throws InterruptedException {
+			return invoked.await(5, TimeUnit.SECONDS);
+		}
+
+		public Thread getThread() {
+			return thread;
+		}
+	}
+
+	static class FailingListener {
+
+		@TransactionalEventListener
+		public void on(SomeEvent event) {
+			throw new IllegalStateException();
+		}
+	}
+}
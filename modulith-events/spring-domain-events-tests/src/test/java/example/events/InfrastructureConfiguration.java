@@ -15,6 +15,8 @@
  */
 package example.events;
 
+import java.util.Map;
+
 import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
 
@@ -44,6 +46,8 @@ class InfrastructureConfiguration {
 		factoryBean.setJpaVendorAdapter(adapter);
 		factoryBean.setPackagesToScan("org.springframework.events.jpa");
 
+		customizeJpaProperties(factoryBean.getJpaPropertyMap());
+
 		return factoryBean;
 	}
 
@@ -56,4 +60,11 @@ class InfrastructureConfiguration {
 	JpaTransactionManager transactionManager(EntityManagerFactory factory) {
 		return new JpaTransactionManager(factory);
 	}
+
+	/**
+	 * Callback to register additional JPA properties for individual tests, e.g. to enable JDBC batching.
+	 *
+	 * @param properties will never be {@literal null}.
+	 */
+	void customizeJpaProperties(Map<String, Object> properties) {}
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package example.events;
+
+import static org.assertj.core.api.Assertions.*;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
+import org.springframework.events.EventPublication;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.PublicationTargetIdentifier;
+import org.springframework.events.config.EnablePersistentDomainEvents;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Integration tests for the JPA based {@link EventPublicationRegistry}.
+ *
+ * @author Oliver Drotbohm
+ */
+class JpaEventPublicationRegistryIntegrationTest {
+
+	AnnotationConfigApplicationContext context;
+	EventPublicationRegistry registry;
+
+	ApplicationListener<?> listener = new ApplicationListenerMethodAdapter("listener", SomeEventListener.class,
+			ReflectionUtils.findMethod(SomeEventListener.class, "on", SomeEvent.class));
+	List<ApplicationListener<?>> listeners = Collections.singletonList(listener);
+
+	@BeforeEach
+	void setUp() {
+
+		this.context = new AnnotationConfigApplicationContext();
+		this.context.register(ApplicationConfiguration.class, InfrastructureConfiguration.class);
+		this.context.refresh();
+
+		this.registry = context.getBean(EventPublicationRegistry.class);
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.context.close();
+	}
+
+	@Test
+	void completesPublicationsOfEqualEventsOneByOne() {
+
+		SomeEvent event = new SomeEvent();
+		PublicationTargetIdentifier identifier = PublicationTargetIdentifier.forListener(listener);
+
+		registry.store(event, listeners);
+		registry.store(event, listeners);
+
+		registry.markCompleted(event, identifier);
+
+		assertThat(registry.findIncompletePublications()).hasSize(1);
+
+		registry.markCompleted(event, identifier);
+
+		assertThat(registry.findIncompletePublications()).isEmpty();
+	}
+
+	@Test
+	void completesOldestPublicationOfEqualEvents() {
+
+		SomeEvent event = new SomeEvent();
+
+		EventPublication first = registry.store(event, listeners).iterator().next();
+		EventPublication second = registry.store(event, listeners).iterator().next();
+
+		registry.markCompleted(event, first.getTargetIdentifier());
+
+		assertThat(registry.findIncompletePublications()) //
+				.extracting(EventPublication::getIdentifier) //
+				.containsExactly(second.getIdentifier());
+	}
+
+	@Test
+	void storesAndCompletesEventsOfUnboundedSize() {
+
+		StringBuilder builder = new StringBuilder();
+
+		while (builder.length() < 64 * 1024) {
+			builder.append("payload");
+		}
+
+		PayloadEvent event = new PayloadEvent(builder.toString());
+		EventPublication publication = registry.store(event, listeners).iterator().next();
+
+		assertThat(registry.findIncompletePublications()) //
+				.extracting(EventPublication::getEvent) //
+				.containsExactly(event);
+
+		registry.markCompleted(event, publication.getTargetIdentifier());
+
+		assertThat(registry.findIncompletePublications()).isEmpty();
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnablePersistentDomainEvents
+	static class ApplicationConfiguration {}
+
+	static class SomeEvent {}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	static class PayloadEvent {
+		String payload;
+	}
+
+	static class SomeEventListener {
+
+		@TransactionalEventListener
+		public void on(SomeEvent event) {}
+	}
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package example.events;
+
+import static org.assertj.core.api.Assertions.*;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.batch.internal.BatchBuilderImpl;
+import org.hibernate.engine.jdbc.batch.internal.BatchBuilderInitiator;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.batch.spi.BatchObserver;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.events.config.EnablePersistentDomainEvents;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests to verify the publications of multiple listeners are inserted in JDBC batches.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+class PublicationThroughputIntegrationTest {
+
+	static final int NUMBER_OF_EVENTS = 500;
+	static final int NUMBER_OF_LISTENERS = 8;
+	static final int BATCH_SIZE = 50;
+
+	AnnotationConfigApplicationContext context;
+
+	@BeforeEach
+	void setUp() {
+
+		this.context = new AnnotationConfigApplicationContext();
+		this.context.register(ApplicationConfiguration.class, BatchingInfrastructureConfiguration.class);
+		this.context.refresh();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.context.close();
+	}
+
+	@Test
+	void insertsPublicationsForMultipleListenersInBatches() {
+
+		EntityManagerFactory factory = context.getBean(EntityManagerFactory.class);
+		ApplicationEventPublisher publisher = context.getBean(ApplicationEventPublisher.class);
+		TransactionTemplate transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+		CountingBatchBuilder batches = context.getBean(CountingBatchBuilder.class);
+		Statistics statistics = factory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		batches.reset();
+
+		long start = System.nanoTime();
+
+		transactions.execute(__ -> {
+
+			for (int i = 0; i < NUMBER_OF_EVENTS; i++) {
+				publisher.publishEvent(new SomeEvent());
+			}
+
+			EntityManagerFactoryUtils.getTransactionalEntityManager(factory).flush();
+
+			int publications = NUMBER_OF_EVENTS * NUMBER_OF_LISTENERS;
+
+			// One event row per event plus a publication row per listener
+			assertThat(statistics.getEntityInsertCount()).isEqualTo(NUMBER_OF_EVENTS + publications);
+
+			// At least all publication rows have been sent in full batches
+			assertThat(batches.getFullBatches() * BATCH_SIZE).isGreaterThanOrEqualTo(publications);
+
+			return null;
+		});
+
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		log.info("Published {} events to {} listeners in {}ms ({} batches executed).", NUMBER_OF_EVENTS,
+				NUMBER_OF_LISTENERS, elapsed, batches.getExecutedBatches());
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class BatchingInfrastructureConfiguration extends InfrastructureConfiguration {
+
+		private final CountingBatchBuilder batches = new CountingBatchBuilder(BATCH_SIZE);
+
+		@Bean
+		CountingBatchBuilder batchBuilder() {
+			return batches;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see example.events.InfrastructureConfiguration#customizeJpaProperties(java.util.Map)
+		 */
+		@Override
+		void customizeJpaProperties(Map<String, Object> properties) {
+
+			properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, BATCH_SIZE);
+			properties.put(AvailableSettings.ORDER_INSERTS, true);
+			properties.put(AvailableSettings.ORDER_UPDATES, true);
+			properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+			properties.put(BatchBuilderInitiator.BUILDER, batches);
+		}
+	}
+
+	/**
+	 * {@link BatchBuilderImpl} keeping track of the JDBC batches executed, distinguishing the ones executed because they
+	 * reached the batch size, i.e. the full ones.
+	 */
+	static class CountingBatchBuilder extends BatchBuilderImpl {
+
+		private final AtomicInteger fullBatches = new AtomicInteger();
+		private final AtomicInteger executedBatches = new AtomicInteger();
+
+		CountingBatchBuilder(int size) {
+			super(size);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.hibernate.engine.jdbc.batch.internal.BatchBuilderImpl#buildBatch(org.hibernate.engine.jdbc.batch.spi.BatchKey, org.hibernate.engine.jdbc.spi.JdbcCoordinator)
+		 */
+		@Override
+		public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
+
+			Batch batch = super.buildBatch(key, jdbcCoordinator);
+
+			batch.addObserver(new BatchObserver() {
+
+				@Override
+				public void batchImplicitlyExecuted() {
+					fullBatches.incrementAndGet();
+					executedBatches.incrementAndGet();
+				}
+
+				@Override
+				public void batchExplicitlyExecuted() {
+					executedBatches.incrementAndGet();
+				}
+			});
+
+			return batch;
+		}
+
+		int getFullBatches() {
+			return fullBatches.get();
+		}
+
+		int getExecutedBatches() {
+			return executedBatches.get();
+		}
+
+		void reset() {
+
+			fullBatches.set(0);
+			executedBatches.set(0);
+		}
+	}
+
+	@Configuration
+	@EnablePersistentDomainEvents
+	static class ApplicationConfiguration {
+
+		@Bean
+		SomeEventListeners listeners() {
+			return new SomeEventListeners();
+		}
+	}
+
+	static class SomeEvent {}
+
+	static class SomeEventListeners {
+
+		@TransactionalEventListener
+		public void first(SomeEvent event) {}
+
+		@TransactionalEventListener
+		public void second(SomeEvent event) {}
+
+		@TransactionalEventListener
+		public void third(SomeEvent event) {}
+
+		@TransactionalEventListener
+		public void fourth(SomeEvent event) {}
+
+		@TransactionalEventListener
+		public void fifth(SomeEvent event) {}
+
+		@TransactionalEventListener
+		public void sixth(SomeEvent event) {}
+
+		@TransactionalEventListener
+		public void seventh(SomeEvent event) {}
+
+		@TransactionalEventListener
+		public void eighth(SomeEvent event) {}
+	}
+}
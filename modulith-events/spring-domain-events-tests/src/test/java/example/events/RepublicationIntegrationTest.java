@@ -0,0 +1,136 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package example.events;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.events.EventPublication;
+import org.springframework.events.EventPublicationRegistry;
+import org.springframework.events.config.EnablePersistentDomainEvents;
+import org.springframework.events.support.PersistentApplicationEventMulticaster;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the republication of publications to failing listeners.
+ *
+ * @author Oliver Drotbohm
+ */
+class RepublicationIntegrationTest {
+
+	AnnotationConfigApplicationContext context;
+
+	@BeforeEach
+	void setUp() {
+
+		this.context = new AnnotationConfigApplicationContext();
+		this.context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test",
+				Collections.singletonMap("events.republication.quarantine-threshold", "2")));
+		this.context.register(ApplicationConfiguration.class, InfrastructureConfiguration.class);
+		this.context.refresh();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.context.close();
+	}
+
+	@Test
+	void reinvokesFailingListenerOnRepublicationAndQuarantinesPublication() {
+
+		ApplicationEventPublisher publisher = context.getBean(ApplicationEventPublisher.class);
+		TransactionTemplate transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		PersistentApplicationEventMulticaster multicaster = context.getBean(PersistentApplicationEventMulticaster.class);
+		EventPublicationRegistry registry = context.getBean(EventPublicationRegistry.class);
+		FailingListener listener = context.getBean(FailingListener.class);
+
+		transactions.execute(__ -> {
+			publisher.publishEvent(new SomeEvent());
+			return null;
+		});
+
+		assertThat(listener.getInvocations()).isEqualTo(1);
+
+		multicaster.republish(getIncompletePublication(registry));
+
+		assertThat(listener.getInvocations()).isEqualTo(2);
+		assertThat(registry.findIncompletePublications()).hasSize(1) //
+				.allSatisfy(it -> assertThat(it.getFailureCount()).isEqualTo(1));
+
+		multicaster.republish(getIncompletePublication(registry));
+
+		assertThat(listener.getInvocations()).isEqualTo(3);
+		assertThat(registry.findIncompletePublications()).isEmpty();
+		assertThat(registry.findQuarantinedPublications(10)).hasSize(1).allSatisfy(it -> {
+			assertThat(it.getFailureCount()).isEqualTo(2);
+			assertThat(it.getLastFailure()).hasValueSatisfying(failure -> {
+				assertThat(failure).contains(IllegalStateException.class.getName());
+			});
+		});
+	}
+
+	private static EventPublication getIncompletePublication(EventPublicationRegistry registry) {
+
+		List<EventPublication> publications = registry.findIncompletePublications(null, 10);
+
+		assertThat(publications).hasSize(1);
+
+		return publications.get(0);
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnablePersistentDomainEvents
+	static class ApplicationConfiguration {
+
+		@Bean
+		FailingListener failingListener() {
+			return new FailingListener();
+		}
+	}
+
+	static class SomeEvent {}
+
+	static class FailingListener {
+
+		private final AtomicInteger invocations = new AtomicInteger();
+
+		@TransactionalEventListener
+		public void on(SomeEvent event) {
+
+			invocations.incrementAndGet();
+
+			throw new IllegalStateException("Failed to process event!");
+		}
+
+		// Accessed via a method as the bean is a class-based proxy
+		public int getInvocations() {
+			return invocations.get();
+		}
+	}
+}